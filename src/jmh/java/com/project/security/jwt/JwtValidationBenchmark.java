@@ -0,0 +1,60 @@
+package com.project.security.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+//Tokens validados por segundo: clave y parser creados en cada llamada (antes) frente a reutilizados (JwtUtils)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "YXNkZmdoamtscW1ub3BxcnN0dXZ3eHl6MTIzNDU2Nzg=";
+
+    private JwtParser cachedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        HmacSigningStrategy strategy = new HmacSigningStrategy(SECRET);
+        cachedParser = strategy.configureVerification(Jwts.parser()).build();
+        long now = System.currentTimeMillis();
+        token = strategy.sign(Jwts.builder()
+                .subject("admin")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 3_600_000)));
+    }
+
+    // Lo que hacian isTokenValid y extractAllClaims: decodificar la clave y construir el parser en cada llamada
+    @Benchmark
+    public Object perCallKeyAndParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Object cachedKeyAndParser() {
+        return cachedParser.parseSignedClaims(token).getPayload();
+    }
+}
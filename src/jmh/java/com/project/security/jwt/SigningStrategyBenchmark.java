@@ -0,0 +1,63 @@
+package com.project.security.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//Coste de firmar y verificar un token de acceso con cada estrategia de JwtSigningConfig
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningStrategyBenchmark {
+
+    private static final String SECRET = "YXNkZmdoamtscW1ub3BxcnN0dXZ3eHl6MTIzNDU2Nzg=";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtSigningStrategy strategy;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        strategy = new JwtSigningConfig().jwtSigningStrategy(algorithm, SECRET, 900_000);
+        parser = strategy.configureVerification(Jwts.parser()).build();
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        long now = System.currentTimeMillis();
+        return strategy.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("admin")
+                .claim(TokenValidationResult.ROLES_CLAIM, List.of("ADMIN", "USER"))
+                .claim(TokenValidationResult.RECHECK_CLAIM, (now + 300_000) / 1000)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 3_600_000)));
+    }
+
+    @Benchmark
+    public Object verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.security.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+//Coste por peticion del rate limiter de login: camino permitido, rechazado, con contencion y sobre muchas IPs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int IPS = 10_000;
+
+    private TokenBucket openBucket;
+    private TokenBucket exhaustedBucket;
+    private LoginRateLimiter limiter;
+    private String[] ips;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Un token por nanosegundo: nunca se agota
+        openBucket = new TokenBucket(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        exhaustedBucket = new TokenBucket(1, TimeUnit.HOURS.toNanos(1));
+        exhaustedBucket.tryConsume();
+
+        limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "ipCapacity", Integer.MAX_VALUE);
+        // Ventana de un minuto: las IPs siguen en la cache y siempre tienen tokens
+        ReflectionTestUtils.setField(limiter, "ipRefillPeriod", 60_000L);
+        ReflectionTestUtils.setField(limiter, "usernameCapacity", 5);
+        ReflectionTestUtils.setField(limiter, "usernameRefillPeriod", 60_000L);
+        ReflectionTestUtils.setField(limiter, "maxEntries", 100_000L);
+        limiter.init();
+        ips = new String[IPS];
+        for (int i = 0; i < IPS; i++) {
+            ips[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long tryConsumeAllowed() {
+        return openBucket.tryConsume();
+    }
+
+    @Benchmark
+    public long tryConsumeRejected() {
+        return exhaustedBucket.tryConsume();
+    }
+
+    // Varios hilos sobre el mismo bucket: mide los reintentos del CAS
+    @Benchmark
+    @Threads(4)
+    public long tryConsumeContended() {
+        return openBucket.tryConsume();
+    }
+
+    @Benchmark
+    public long tryAcquireForIp() {
+        String ip = ips[next];
+        next = next + 1 == IPS ? 0 : next + 1;
+        return limiter.tryAcquireForIp(ip);
+    }
+}
@@ -13,20 +13,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.project.Controller.dto.CursorPageDTO;
 import com.project.Controller.dto.MakerDTO;
+import com.project.Controller.dto.MakerPatchDTO;
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
+import com.project.models.projection.MakerView;
+import com.project.service.CatalogVersion;
 import com.project.service.IMakerService;
+import com.project.service.PatchResult;
+import com.project.service.bulk.BulkReport;
 
 @RestController
 @RequestMapping("/api/maker")
@@ -34,13 +46,20 @@ import com.project.service.IMakerService;
 @Tag(name = "Maker", description = "Controller of endpoints for Maker")
 public class MakerController {
 
+    private static final int CURSOR_MAX_LIMIT = 500;
+    private static final int BULK_MAX_ROWS = 10000;
+    private static final int NAME_MAX_LENGTH = 255;
+
     @Autowired
     private IMakerService makerService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
 
     @Operation(
             summary = "Buscar Maker por ID",
-            description = "Permite recuperar los detalles de un Maker especificando su ID. Solo accesible para usuarios con roles autorizados.",
+            description = "Permite recuperar los detalles de un Maker especificando su ID. Devuelve un ETag; con If-None-Match se responde 304 si no ha cambiado. Solo accesible para usuarios con roles autorizados.",
             tags = {"Authentication", "Maker"},
             parameters = {
                     @Parameter(
@@ -56,9 +75,14 @@ public class MakerController {
                             description = "Maker encontrado exitosamente",
                             content = @Content(
                                     mediaType = "application/json",
-                                    schema = @Schema(implementation = MakerDTO.class)
+                                    schema = @Schema(implementation = MakerView.class)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "El Maker no ha cambiado desde el ETag indicado en If-None-Match",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "No se encontró un Maker con el ID especificado",
@@ -73,35 +97,54 @@ public class MakerController {
     )
     @GetMapping("/find/{id}")
     @PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
-    public ResponseEntity<?> findById(@PathVariable Long id){
-        Optional<Maker>  makerOptional = makerService.findById(id);
+    public ResponseEntity<?> findById(@PathVariable Long id, WebRequest webRequest){
+        String eTag = catalogVersion.makerTag(id);
+        if (webRequest.checkNotModified(eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Optional<MakerView> makerOptional = makerService.findWithProducts(id);
 
         if (makerOptional.isPresent()){
-            Maker maker = makerOptional.get();
-
-            MakerDTO makerDTO = MakerDTO.builder()
-                    .id(maker.getId())
-                    .name(maker.getName())
-                    .productList(maker.getProductList())
-                    .build();
-            return ResponseEntity.ok(makerDTO);
+            return ResponseEntity.ok().eTag(eTag).body(makerOptional.get());
         }
         return ResponseEntity.notFound().build();
     }
 
     @Operation(
             summary = "Listar todos los Makers",
-            description = "Recupera una lista de todos los Makers disponibles en el sistema. Solo accesible para usuarios con roles autorizados.",
+            description = "Recupera los Makers disponibles en el sistema paginados por ID. Devuelve como mucho 'limit' Makers y un cursor 'nextCursor' para pedir la pagina siguiente. Devuelve un ETag; con If-None-Match se responde 304 si la pagina no ha cambiado. Solo accesible para usuarios con roles autorizados.",
             tags = {"Authentication", "Maker"},
+            parameters = {
+                    @Parameter(
+                            name = "after",
+                            description = "Cursor devuelto en 'nextCursor' por la pagina anterior; vacio para la primera pagina",
+                            schema = @Schema(type = "string")
+                    ),
+                    @Parameter(
+                            name = "limit",
+                            description = "Numero maximo de Makers de la pagina (1-" + CURSOR_MAX_LIMIT + ")",
+                            schema = @Schema(type = "integer", defaultValue = "50")
+                    )
+            },
             responses = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "Lista de Makers recuperada exitosamente",
+                            description = "Pagina de Makers recuperada exitosamente",
                             content = @Content(
                                     mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = MakerDTO.class))
+                                    schema = @Schema(implementation = CursorPageDTO.class)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "La pagina no ha cambiado desde el ETag indicado en If-None-Match",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Cursor o limite invalido",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "403",
                             description = "Acceso denegado. El usuario no tiene los permisos necesarios",
@@ -111,12 +154,89 @@ public class MakerController {
     )
     @GetMapping("/findAll")
     @PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
-    public ResponseEntity<?> findAll(){
-    	List<MakerDTO> makerkist = makerService.findAll().stream().map(maker -> MakerDTO.builder().id(maker.getId())
-    			.name(maker.getName())
-    			.productList(maker.getProductList())
-    			.build()).toList();
-    	return ResponseEntity.ok(makerkist);
+    public ResponseEntity<?> findAll(@RequestParam(required = false) String after,
+                                     @RequestParam(defaultValue = "50") int limit, WebRequest webRequest){
+        long afterId;
+        try {
+            afterId = CursorPageDTO.decodeCursor(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1 || limit > CURSOR_MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        String eTag = catalogVersion.makerSliceTag("ms", afterId, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<MakerView> makers = makerService.findSlice(afterId, limit);
+        Long lastId = makers.isEmpty() ? null : makers.get(makers.size() - 1).id();
+    	return ResponseEntity.ok().eTag(eTag).body(CursorPageDTO.of(makers, limit, lastId));
+    }
+
+
+    @Operation(
+            summary = "Resumen de los Makers",
+            description = "Recupera id, nombre y numero de productos de cada Maker, paginados por ID y calculados en una sola consulta. Devuelve un ETag; con If-None-Match se responde 304 si la pagina no ha cambiado. Solo accesible para usuarios con roles autorizados.",
+            tags = {"Authentication", "Maker"},
+            parameters = {
+                    @Parameter(
+                            name = "after",
+                            description = "Cursor devuelto en 'nextCursor' por la pagina anterior; vacio para la primera pagina",
+                            schema = @Schema(type = "string")
+                    ),
+                    @Parameter(
+                            name = "limit",
+                            description = "Numero maximo de Makers de la pagina (1-" + CURSOR_MAX_LIMIT + ")",
+                            schema = @Schema(type = "integer", defaultValue = "50")
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resumen recuperado exitosamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "La pagina no ha cambiado desde el ETag indicado en If-None-Match",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Cursor o limite invalido",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
+    public ResponseEntity<?> summary(@RequestParam(required = false) String after,
+                                     @RequestParam(defaultValue = "50") int limit, WebRequest webRequest){
+        long afterId;
+        try {
+            afterId = CursorPageDTO.decodeCursor(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1 || limit > CURSOR_MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        String eTag = catalogVersion.makerSliceTag("mss", afterId, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<MakerSummary> summaries = makerService.findSummarySlice(afterId, limit);
+        Long lastId = summaries.isEmpty() ? null : summaries.get(summaries.size() - 1).id();
+        return ResponseEntity.ok().eTag(eTag).body(CursorPageDTO.of(summaries, limit, lastId));
     }
 
 
@@ -160,9 +280,96 @@ public class MakerController {
     	return ResponseEntity.created(new URI("/api/maker/save")).build();
     }
 
+    @Operation(
+            summary = "Actualizar Makers en bloque",
+            description = "Actualiza el nombre de los Makers que traen ID e inserta los que no lo traen, con sentencias por lotes en lugar de una peticion por Maker. Como mucho " + BULK_MAX_ROWS + " Makers por peticion. Solo accesible para usuarios con rol ADMIN.",
+            tags = {"Authentication", "Maker"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Makers a actualizar o insertar",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = MakerDTO.class))
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operacion terminada; el informe indica las filas aplicadas y las erroneas",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkReport.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Lista vacia o con mas de " + BULK_MAX_ROWS + " Makers",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+                            content = @Content
+                    )
+            }
+    )
+    @PutMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkUpsert(@RequestBody List<MakerDTO> makerDTOs){
+        if (makerDTOs.isEmpty() || makerDTOs.size() > BULK_MAX_ROWS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Maker> makers = makerDTOs.stream()
+                .map(makerDTO -> Maker.builder().id(makerDTO.getId()).name(makerDTO.getName()).build())
+                .toList();
+        return ResponseEntity.ok(makerService.upsertMakers(makers));
+    }
+
+    @Operation(
+            summary = "Eliminar Makers en bloque",
+            description = "Elimina los Makers indicados y todos sus Productos con sentencias DELETE ... WHERE IN. Como mucho " + BULK_MAX_ROWS + " IDs por peticion. Solo accesible para usuarios con rol ADMIN.",
+            tags = {"Authentication", "Maker"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "IDs de los Makers a eliminar",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(type = "integer"))
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operacion terminada; el informe indica los Makers eliminados y los IDs erroneos",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkReport.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Lista vacia o con mas de " + BULK_MAX_ROWS + " IDs",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkDelete(@RequestBody List<Long> ids){
+        if (ids.isEmpty() || ids.size() > BULK_MAX_ROWS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(makerService.deleteMakers(ids));
+    }
+
     @Operation(
             summary = "Actualizar un Maker",
-            description = "Actualiza la información de un Maker existente identificado por su ID. Solo accesible para usuarios con rol ADMIN.",
+            description = "Actualiza la información de un Maker existente identificado por su ID. Si se envia 'version' y no es la actual, o si otro cliente lo modifica a la vez, responde 409. Solo accesible para usuarios con rol ADMIN.",
             tags = {"Authentication", "Maker"},
             parameters = {
                     @Parameter(
@@ -191,6 +398,11 @@ public class MakerController {
                             description = "Maker no encontrado",
                             content = @Content
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "El Maker fue modificado por otro cliente",
+                            content = @Content(schema = @Schema(type = "string"))
+                    ),
                     @ApiResponse(
                             responseCode = "403",
                             description = "Acceso denegado. El usuario no tiene los permisos necesarios",
@@ -205,13 +417,84 @@ public class MakerController {
     	
     	if (makerOptional.isPresent()) {
 			Maker maker = makerOptional.get();
+			if (makerDTO.getVersion() != null && !makerDTO.getVersion().equals(maker.getVersion())) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+			}
 			maker.setName(makerDTO.getName());
-			makerService.save(maker);
+			try {
+				makerService.save(maker);
+			} catch (OptimisticLockingFailureException e) {
+				return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+			}
 			return ResponseEntity.ok("Registro Actualizado");
 		}
     	return ResponseEntity.notFound().build();
     }
 
+    @Operation(
+            summary = "Actualizar parcialmente un Maker",
+            description = "Cambia el nombre del Maker con una unica sentencia, siempre que 'version' siga siendo la actual. Solo accesible para usuarios con rol ADMIN.",
+            tags = {"Authentication", "Maker"},
+            parameters = {
+                    @Parameter(
+                            name = "id",
+                            description = "ID del Maker a actualizar",
+                            required = true,
+                            schema = @Schema(type = "integer")
+                    )
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Campos a cambiar y version leida del Maker",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MakerPatchDTO.class)
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Maker actualizado exitosamente",
+                            content = @Content(schema = @Schema(type = "string"))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Falta la version o el nombre esta vacio o supera los " + NAME_MAX_LENGTH + " caracteres",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Maker no encontrado",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "La version enviada no es la actual: el Maker fue modificado por otro cliente",
+                            content = @Content(schema = @Schema(type = "string"))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+                            content = @Content
+                    )
+            }
+    )
+    @PatchMapping("/update/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> patchMaker(@PathVariable Long id, @RequestBody MakerPatchDTO patchDTO){
+        if (patchDTO.getVersion() == null || patchDTO.getName() == null || patchDTO.getName().isBlank()
+                || patchDTO.getName().length() > NAME_MAX_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        PatchResult result = makerService.patch(id, patchDTO.getVersion(), patchDTO.getName());
+        return switch (result) {
+            case UPDATED -> ResponseEntity.ok("Registro Actualizado");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+            case INVALID_MAKER -> ResponseEntity.badRequest().build();
+        };
+    }
+
 
     @Operation(
             summary = "Eliminar un Maker",
@@ -5,6 +5,9 @@ import com.project.models.ERole;
 import com.project.models.RoleEntity;
 import com.project.models.UserEntity;
 import com.project.repository.UserRepository;
+import com.project.security.password.PasswordHashingRejectedException;
+import com.project.service.CachedUserDetailsService;
+import com.project.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +15,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +35,12 @@ public class PrincipalController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CachedUserDetailsService userDetailsCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Operation(
             summary = "Crear un nuevo Usuario",
             description = "Registra un nuevo usuario en el sistema asignándole roles específicos.",
@@ -53,6 +64,11 @@ public class PrincipalController {
                             responseCode = "400",
                             description = "Error en los datos enviados",
                             content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Servicio de hashing saturado, reintentar mas tarde",
+                            content = @Content
                     )
             }
     )
@@ -61,13 +77,21 @@ public class PrincipalController {
         Set<RoleEntity> roles = userDTO.getRoles().stream().map( role -> RoleEntity.builder().name(ERole.valueOf(role))
                 .build()).collect(Collectors.toSet());
 
+        String encodedPassword;
+        try {
+            encodedPassword = passwordEncoder.encode(userDTO.getPassword());
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+
         UserEntity userEntity = UserEntity.builder()
                 .username(userDTO.getUsername())
                 .email(userDTO.getEmail())
-                .password(passwordEncoder.encode(userDTO.getPassword()))
+                .password(encodedPassword)
                 .roles(roles)
                 .build();
         userRepository.save(userEntity);
+        userDetailsCache.evict(userEntity.getUsername());
         return ResponseEntity.ok(userEntity);
     }
 
@@ -106,7 +130,12 @@ public class PrincipalController {
     )
     @DeleteMapping("/deleteUser")
     public String deleteUser(@RequestParam String id){
-        userRepository.deleteById(Long.valueOf(id));
+        Long userId = Long.valueOf(id);
+        userRepository.findById(userId).ifPresent(user -> {
+            userRepository.deleteById(userId);
+            userDetailsCache.evict(user.getUsername());
+            refreshTokenService.revokeAll(user.getUsername());
+        });
         return "Se ha borrado el usuario con id".concat(id);
     }
 }
\ No newline at end of file
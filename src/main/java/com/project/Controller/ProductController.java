@@ -1,7 +1,13 @@
 package com.project.Controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,34 +18,72 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.Controller.dto.CursorPageDTO;
 import com.project.Controller.dto.ProductDTO;
+import com.project.Controller.dto.ProductPatchDTO;
 import com.project.models.Product;
+import com.project.models.projection.PriceHistogram;
+import com.project.models.projection.ProductView;
+import com.project.service.CatalogVersion;
 import com.project.service.IProductService;
+import com.project.service.PatchResult;
+import com.project.service.bulk.BulkReport;
+import com.project.service.bulk.CsvProductImportReader;
+import com.project.service.bulk.JsonProductImportReader;
+import com.project.service.bulk.ProductImportRow;
+import com.project.service.index.ProductPriceIndex;
 
 @RestController
 @RequestMapping("api/product")
 @Tag(name = "Product", description = "Controller of endpoints for Product")
 public class ProductController {
 
+	private static final int CURSOR_MAX_LIMIT = 500;
+	private static final int HISTOGRAM_MAX_BUCKETS = 100;
+	private static final int SEARCH_MAX_LIMIT = 100;
+	private static final int SEARCH_MAX_QUERY_LENGTH = 100;
+
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+	private static final int EXPORT_FLUSH_EVERY = 500;
+	private static final String TEXT_CSV = "text/csv";
+	private static final int BULK_MAX_ROWS = 10000;
+	private static final int NAME_MAX_LENGTH = 255;
+
 	@Autowired
 	private IProductService productService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
 
 	@Operation(
 			summary = "Buscar un Producto por ID",
-			description = "Obtiene la información de un Producto existente identificado por su ID. Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			description = "Obtiene la información de un Producto existente identificado por su ID. Devuelve un ETag; con If-None-Match se responde 304 si no ha cambiado. Accesible para usuarios con roles USER, ADMIN o INVITED.",
 			tags = {"Authentication", "Product"},
 			parameters = {
 					@Parameter(
@@ -55,9 +99,14 @@ public class ProductController {
 							description = "Producto encontrado exitosamente",
 							content = @Content(
 									mediaType = "application/json",
-									schema = @Schema(implementation = ProductDTO.class)
+									schema = @Schema(implementation = ProductView.class)
 							)
 					),
+					@ApiResponse(
+							responseCode = "304",
+							description = "El Producto no ha cambiado desde el ETag indicado en If-None-Match",
+							content = @Content
+					),
 					@ApiResponse(
 							responseCode = "404",
 							description = "Producto no encontrado",
@@ -72,17 +121,15 @@ public class ProductController {
 	)
 	@GetMapping("/find/{id}")
 	 @PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
-	    public ResponseEntity<?> findById(@PathVariable Long id){
-	       Optional<Product> productOptional = productService.findById(id);
+	    public ResponseEntity<?> findById(@PathVariable Long id, WebRequest webRequest){
+	       // La version se lee antes de consultar: si cambia a mitad, el ETag queda viejo y el cliente vuelve a pedir
+	       String eTag = catalogVersion.productTag(id);
+	       if (webRequest.checkNotModified(eTag)){
+	           return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+	       }
+	       Optional<ProductView> productOptional = productService.findViewById(id);
 	        if (productOptional.isPresent()){
-	           Product product = productOptional.get();
-	            ProductDTO productDTO = ProductDTO.builder()
-	                    .id(product.getId())
-	                    .name(product.getName())
-	                    .price(product.getPrice())
-	                    .maker(product.getMaker())
-	                    .build();
-	            return ResponseEntity.ok(productDTO);
+	            return ResponseEntity.ok().eTag(eTag).body(productOptional.get());
 	        }
 	        return ResponseEntity.notFound().build();
 	    }
@@ -90,17 +137,39 @@ public class ProductController {
 
 	@Operation(
 			summary = "Listar todos los Productos",
-			description = "Obtiene la lista de todos los Productos registrados. Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			description = "Obtiene los Productos registrados paginados por ID. Devuelve como mucho 'limit' Productos y un cursor 'nextCursor' para pedir la pagina siguiente. Devuelve un ETag; con If-None-Match se responde 304 si la pagina no ha cambiado. Accesible para usuarios con roles USER, ADMIN o INVITED.",
 			tags = {"Authentication", "Product"},
+			parameters = {
+					@Parameter(
+							name = "after",
+							description = "Cursor devuelto en 'nextCursor' por la pagina anterior; vacio para la primera pagina",
+							schema = @Schema(type = "string")
+					),
+					@Parameter(
+							name = "limit",
+							description = "Numero maximo de Productos de la pagina (1-" + CURSOR_MAX_LIMIT + ")",
+							schema = @Schema(type = "integer", defaultValue = "50")
+					)
+			},
 			responses = {
 					@ApiResponse(
 							responseCode = "200",
-							description = "Lista de Productos obtenida exitosamente",
+							description = "Pagina de Productos obtenida exitosamente",
 							content = @Content(
 									mediaType = "application/json",
-									array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
+									schema = @Schema(implementation = CursorPageDTO.class)
 							)
 					),
+					@ApiResponse(
+							responseCode = "304",
+							description = "La pagina no ha cambiado desde el ETag indicado en If-None-Match",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Cursor o limite invalido",
+							content = @Content
+					),
 					@ApiResponse(
 							responseCode = "403",
 							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
@@ -110,14 +179,258 @@ public class ProductController {
 	)
 	    @GetMapping("/findAll")
 		@PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
-	    public ResponseEntity<?> findAll(){
-	    	List<ProductDTO> prducList = productService.findAll().stream().map(product -> ProductDTO.builder()
-	    			.id(product.getId())
-	    			.name(product.getName())
-	    			.price(product.getPrice())
-	    			.maker(product.getMaker())
-	    			.build()).toList();
-	    	return ResponseEntity.ok(prducList);
+	    public ResponseEntity<?> findAll(@RequestParam(required = false) String after,
+	    		@RequestParam(defaultValue = "50") int limit, WebRequest webRequest){
+	    	long afterId;
+	    	try {
+	    		afterId = CursorPageDTO.decodeCursor(after);
+	    	} catch (IllegalArgumentException e) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	if (limit < 1 || limit > CURSOR_MAX_LIMIT) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	String eTag = catalogVersion.productSliceTag(afterId, limit);
+	    	if (webRequest.checkNotModified(eTag)) {
+	    		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+	    	}
+	    	List<ProductView> prducList = productService.findViewSlice(afterId, limit);
+	    	Long lastId = prducList.isEmpty() ? null : prducList.get(prducList.size() - 1).id();
+	    	return ResponseEntity.ok().eTag(eTag).body(CursorPageDTO.of(prducList, limit, lastId));
+	    }
+
+
+	@Operation(
+			summary = "Buscar Productos por rango de precio",
+			description = "Obtiene como mucho 'limit' Productos con precio entre 'min' y 'max' (ambos incluidos), ordenados por precio. Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			tags = {"Authentication", "Product"},
+			parameters = {
+					@Parameter(
+							name = "min",
+							description = "Precio minimo",
+							required = true,
+							schema = @Schema(type = "number")
+					),
+					@Parameter(
+							name = "max",
+							description = "Precio maximo",
+							required = true,
+							schema = @Schema(type = "number")
+					),
+					@Parameter(
+							name = "sort",
+							description = "Orden por precio: 'asc' o 'desc'",
+							schema = @Schema(type = "string", allowableValues = {"asc", "desc"}, defaultValue = "asc")
+					),
+					@Parameter(
+							name = "limit",
+							description = "Numero maximo de Productos (1-" + CURSOR_MAX_LIMIT + ")",
+							schema = @Schema(type = "integer", defaultValue = "50")
+					)
+			},
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Productos obtenidos exitosamente",
+							content = @Content(
+									mediaType = "application/json",
+									schema = @Schema(implementation = ProductView.class)
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Rango invalido (precio negativo, mayor que el maximo o min > max), orden o limite invalido",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @GetMapping("/range")
+		@PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
+	    public ResponseEntity<?> findByPriceRange(@RequestParam BigDecimal min, @RequestParam BigDecimal max,
+	    		@RequestParam(defaultValue = "asc") String sort,
+	    		@RequestParam(defaultValue = "50") int limit){
+	    	if (!isValidRange(min, max) || limit < 1 || limit > CURSOR_MAX_LIMIT) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	if (!sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	return ResponseEntity.ok(productService.findViewsByPriceInRange(min, max, sort.equalsIgnoreCase("desc"), limit));
+	    }
+
+
+	@Operation(
+			summary = "Histograma de precios",
+			description = "Divide el rango ['min', 'max'] en 'buckets' intervalos iguales y devuelve cuantos Productos hay en cada uno. Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			tags = {"Authentication", "Product"},
+			parameters = {
+					@Parameter(
+							name = "min",
+							description = "Precio minimo",
+							required = true,
+							schema = @Schema(type = "number")
+					),
+					@Parameter(
+							name = "max",
+							description = "Precio maximo",
+							required = true,
+							schema = @Schema(type = "number")
+					),
+					@Parameter(
+							name = "buckets",
+							description = "Numero de intervalos (1-" + HISTOGRAM_MAX_BUCKETS + ")",
+							schema = @Schema(type = "integer", defaultValue = "10")
+					)
+			},
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Histograma obtenido exitosamente",
+							content = @Content(
+									mediaType = "application/json",
+									schema = @Schema(implementation = PriceHistogram.class)
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Rango invalido (precio negativo, mayor que el maximo o min > max) o numero de intervalos invalido",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @GetMapping("/price-histogram")
+		@PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
+	    public ResponseEntity<?> priceHistogram(@RequestParam BigDecimal min, @RequestParam BigDecimal max,
+	    		@RequestParam(defaultValue = "10") int buckets){
+	    	if (!isValidRange(min, max) || buckets < 1 || buckets > HISTOGRAM_MAX_BUCKETS) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	return ResponseEntity.ok(productService.priceHistogram(min, max, buckets));
+	    }
+
+	    private static boolean isValidRange(BigDecimal min, BigDecimal max){
+	    	return isValidPrice(min) && isValidPrice(max) && min.compareTo(max) <= 0;
+	    }
+
+	    //entre 0 y el maximo que el indice de precios representa en centimos
+	    private static boolean isValidPrice(BigDecimal price){
+	    	return price.signum() >= 0 && price.compareTo(ProductPriceIndex.MAX_PRICE) <= 0;
+	    }
+
+
+	@Operation(
+			summary = "Buscar Productos por nombre",
+			description = "Obtiene como mucho 'limit' Productos cuyo nombre contiene todas las palabras de 'q'. No distingue mayusculas ni tildes y cada palabra vale como prefijo ('port' encuentra 'Portátil'). Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			tags = {"Authentication", "Product"},
+			parameters = {
+					@Parameter(
+							name = "q",
+							description = "Texto a buscar (1-" + SEARCH_MAX_QUERY_LENGTH + " caracteres)",
+							required = true,
+							schema = @Schema(type = "string")
+					),
+					@Parameter(
+							name = "limit",
+							description = "Numero maximo de Productos (1-" + SEARCH_MAX_LIMIT + ")",
+							schema = @Schema(type = "integer", defaultValue = "20")
+					)
+			},
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Productos obtenidos exitosamente",
+							content = @Content(
+									mediaType = "application/json",
+									array = @ArraySchema(schema = @Schema(implementation = ProductView.class))
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Texto vacio o demasiado largo, o limite invalido",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "503",
+							description = "El indice de busqueda no esta disponible",
+							content = @Content
+					)
+			}
+	)
+	    @GetMapping("/search")
+		@PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
+	    public ResponseEntity<?> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit){
+	    	if (q.isBlank() || q.length() > SEARCH_MAX_QUERY_LENGTH || limit < 1 || limit > SEARCH_MAX_LIMIT) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	Optional<List<ProductView>> result = productService.search(q, limit);
+	    	if (result.isEmpty()) {
+	    		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+	    	}
+	    	return ResponseEntity.ok(result.get());
+	    }
+
+
+	@Operation(
+			summary = "Exportar todos los Productos",
+			description = "Devuelve el catalogo completo en formato NDJSON (un Producto JSON por linea), escrito a medida que se lee de la base de datos. Accesible para usuarios con roles USER, ADMIN o INVITED.",
+			tags = {"Authentication", "Product"},
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Catalogo exportado exitosamente",
+							content = @Content(mediaType = "application/x-ndjson")
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @GetMapping("/export")
+		@PreAuthorize("hasAnyRole('USER','ADMIN','INVITED')")
+	    public ResponseEntity<StreamingResponseBody> export(){
+	    	StreamingResponseBody body = outputStream -> {
+	    		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+	    			// Sin el separador por defecto (" ") entre objetos raiz: cada linea termina solo con '\n'
+	    			generator.setRootValueSeparator(null);
+	    			int[] written = {0};
+	    			productService.exportAll(product -> {
+	    				try {
+	    					generator.writeStartObject();
+	    					generator.writeNumberField("id", product.getId());
+	    					generator.writeStringField("name", product.getName());
+	    					generator.writeNumberField("price", product.getPrice());
+	    					generator.writeNumberField("makerId", product.getMaker().getId());
+	    					generator.writeStringField("makerName", product.getMaker().getName());
+	    					generator.writeEndObject();
+	    					generator.writeRaw('\n');
+	    					// La primera linea sale enseguida; despues se vacia el buffer por bloques
+	    					if (written[0]++ % EXPORT_FLUSH_EVERY == 0) {
+	    						generator.flush();
+	    					}
+	    				} catch (IOException e) {
+	    					throw new UncheckedIOException(e);
+	    				}
+	    			});
+	    		}
+	    	};
+	    	return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
 	    }
 
 
@@ -154,7 +467,7 @@ public class ProductController {
 	    @PostMapping("/save")
 		@PreAuthorize("hasRole('ADMIN')")
 	    public ResponseEntity<?> save(@RequestBody ProductDTO productDTO) throws URISyntaxException{
-		    if(productDTO.getName().isBlank() || productDTO.getPrice() == null || productDTO.getMaker() == null) {
+		    if(productDTO.getName().isBlank() || productDTO.getPrice() == null || !isValidPrice(productDTO.getPrice()) || productDTO.getMaker() == null) {
 	    		return ResponseEntity.badRequest().build();
 	    	}
 	    	
@@ -169,9 +482,155 @@ public class ProductController {
 	    }
 
 
+	@Operation(
+			summary = "Importar Productos en bloque",
+			description = "Registra muchos Productos en una sola peticion. Acepta un array JSON de objetos {name, price, makerId} o un CSV 'name,price,makerId' (cabecera opcional), leidos a medida que llegan. Las filas se confirman por bloques y las que fallan se devuelven en el informe con su numero de fila. Solo accesible para usuarios con rol ADMIN.",
+			tags = {"Authentication", "Product"},
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					description = "Productos a registrar",
+					required = true,
+					content = {
+							@Content(mediaType = "application/json"),
+							@Content(mediaType = TEXT_CSV)
+					}
+			),
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Importacion terminada; el informe indica las filas registradas y las erroneas",
+							content = @Content(
+									mediaType = "application/json",
+									schema = @Schema(implementation = BulkReport.class)
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "El cuerpo no es un array JSON",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV})
+		@PreAuthorize("hasRole('ADMIN')")
+	    public ResponseEntity<?> bulkImport(HttpServletRequest request) throws IOException{
+	    	MediaType contentType = MediaType.parseMediaType(request.getContentType());
+	    	try (InputStream inputStream = request.getInputStream()) {
+	    		Iterator<ProductImportRow> rows;
+	    		if (MediaType.parseMediaType(TEXT_CSV).includes(contentType)) {
+	    			rows = new CsvProductImportReader(inputStream,
+	    					contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8);
+	    		} else {
+	    			try {
+	    				rows = new JsonProductImportReader(objectMapper, inputStream);
+	    			} catch (IllegalArgumentException e) {
+	    				return ResponseEntity.badRequest().body(e.getMessage());
+	    			}
+	    		}
+	    		return ResponseEntity.ok(productService.importProducts(rows));
+	    	}
+	    }
+
+
+	@Operation(
+			summary = "Actualizar Productos en bloque",
+			description = "Actualiza los Productos que traen ID e inserta los que no lo traen, con sentencias por lotes en lugar de una peticion por Producto. Como mucho " + BULK_MAX_ROWS + " Productos por peticion. Solo accesible para usuarios con rol ADMIN.",
+			tags = {"Authentication", "Product"},
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					description = "Productos a actualizar o insertar",
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
+					)
+			),
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Operacion terminada; el informe indica las filas aplicadas y las erroneas",
+							content = @Content(
+									mediaType = "application/json",
+									schema = @Schema(implementation = BulkReport.class)
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Lista vacia o con mas de " + BULK_MAX_ROWS + " Productos",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @PutMapping("/bulk")
+		@PreAuthorize("hasRole('ADMIN')")
+	    public ResponseEntity<?> bulkUpsert(@RequestBody List<ProductDTO> productDTOs){
+	    	if (productDTOs.isEmpty() || productDTOs.size() > BULK_MAX_ROWS) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	List<Product> products = productDTOs.stream().map(productDTO -> Product.builder()
+	    			.id(productDTO.getId())
+	    			.name(productDTO.getName())
+	    			.price(productDTO.getPrice())
+	    			.maker(productDTO.getMaker())
+	    			.build()).toList();
+	    	return ResponseEntity.ok(productService.upsertProducts(products));
+	    }
+
+
+	@Operation(
+			summary = "Eliminar Productos en bloque",
+			description = "Elimina los Productos indicados con sentencias DELETE ... WHERE id IN. Como mucho " + BULK_MAX_ROWS + " IDs por peticion. Solo accesible para usuarios con rol ADMIN.",
+			tags = {"Authentication", "Product"},
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					description = "IDs de los Productos a eliminar",
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							array = @ArraySchema(schema = @Schema(type = "integer"))
+					)
+			),
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Operacion terminada; el informe indica los Productos eliminados y los IDs erroneos",
+							content = @Content(
+									mediaType = "application/json",
+									schema = @Schema(implementation = BulkReport.class)
+							)
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Lista vacia o con mas de " + BULK_MAX_ROWS + " IDs",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @PostMapping("/bulk/delete")
+		@PreAuthorize("hasRole('ADMIN')")
+	    public ResponseEntity<?> bulkDelete(@RequestBody List<Long> ids){
+	    	if (ids.isEmpty() || ids.size() > BULK_MAX_ROWS) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	return ResponseEntity.ok(productService.deleteProducts(ids));
+	    }
+
+
 	@Operation(
 			summary = "Actualizar un Producto",
-			description = "Actualiza la información de un Producto existente identificado por su ID. Solo accesible para usuarios con rol ADMIN.",
+			description = "Actualiza la información de un Producto existente identificado por su ID. Si se envia 'version' y no es la actual, o si otro cliente lo modifica a la vez, responde 409. Solo accesible para usuarios con rol ADMIN.",
 			tags = {"Authentication", "Product"},
 			parameters = {
 					@Parameter(
@@ -195,11 +654,21 @@ public class ProductController {
 							description = "Producto actualizado exitosamente",
 							content = @Content(schema = @Schema(type = "string"))
 					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Precio negativo o mayor que el maximo",
+							content = @Content
+					),
 					@ApiResponse(
 							responseCode = "404",
 							description = "Producto no encontrado",
 							content = @Content
 					),
+					@ApiResponse(
+							responseCode = "409",
+							description = "El Producto fue modificado por otro cliente",
+							content = @Content(schema = @Schema(type = "string"))
+					),
 					@ApiResponse(
 							responseCode = "403",
 							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
@@ -210,19 +679,96 @@ public class ProductController {
 	    @PutMapping("update/{id}")
 		@PreAuthorize("hasRole('ADMIN')")
 	    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody ProductDTO productDTO){
+	    	if (productDTO.getPrice() != null && !isValidPrice(productDTO.getPrice())) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
 	    	Optional<Product> productOptional = productService.findById(id);
 	    	if(productOptional.isPresent()) {
 	    		Product product = productOptional.get();
+	    		if (productDTO.getVersion() != null && !productDTO.getVersion().equals(product.getVersion())) {
+	    			return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+	    		}
 	    		product.setName(productDTO.getName());
 	    		product.setPrice(productDTO.getPrice());
 	    		product.setMaker(productDTO.getMaker());
-	    		productService.save(product);
+	    		try {
+	    			productService.save(product);
+	    		} catch (OptimisticLockingFailureException e) {
+	    			return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+	    		}
 	    		return ResponseEntity.ok("Registro Actualizado");
 	    	}
 	    	return ResponseEntity.notFound().build();
 	    }
 
 
+	@Operation(
+			summary = "Actualizar parcialmente un Producto",
+			description = "Cambia solo los campos enviados (name, price, makerId) con una unica sentencia, siempre que 'version' siga siendo la actual. Solo accesible para usuarios con rol ADMIN.",
+			tags = {"Authentication", "Product"},
+			parameters = {
+					@Parameter(
+							name = "id",
+							description = "ID del Producto a actualizar",
+							required = true,
+							schema = @Schema(type = "integer")
+					)
+			},
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					description = "Campos a cambiar y version leida del Producto",
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							schema = @Schema(implementation = ProductPatchDTO.class)
+					)
+			),
+			responses = {
+					@ApiResponse(
+							responseCode = "200",
+							description = "Producto actualizado exitosamente",
+							content = @Content(schema = @Schema(type = "string"))
+					),
+					@ApiResponse(
+							responseCode = "400",
+							description = "Falta la version, no hay campos que cambiar, algun valor es invalido (nombre de mas de " + NAME_MAX_LENGTH + " caracteres, precio negativo o mayor que el maximo) o el maker no existe",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "404",
+							description = "Producto no encontrado",
+							content = @Content
+					),
+					@ApiResponse(
+							responseCode = "409",
+							description = "La version enviada no es la actual: el Producto fue modificado por otro cliente",
+							content = @Content(schema = @Schema(type = "string"))
+					),
+					@ApiResponse(
+							responseCode = "403",
+							description = "Acceso denegado. El usuario no tiene los permisos necesarios",
+							content = @Content
+					)
+			}
+	)
+	    @PatchMapping("update/{id}")
+		@PreAuthorize("hasRole('ADMIN')")
+	    public ResponseEntity<?> patch(@PathVariable Long id, @RequestBody ProductPatchDTO patchDTO){
+	    	if (patchDTO.getVersion() == null
+	    			|| (patchDTO.getName() == null && patchDTO.getPrice() == null && patchDTO.getMakerId() == null)
+	    			|| (patchDTO.getName() != null && (patchDTO.getName().isBlank() || patchDTO.getName().length() > NAME_MAX_LENGTH))
+	    			|| (patchDTO.getPrice() != null && !isValidPrice(patchDTO.getPrice()))) {
+	    		return ResponseEntity.badRequest().build();
+	    	}
+	    	PatchResult result = productService.patch(id, patchDTO.getVersion(), patchDTO.getName(), patchDTO.getPrice(), patchDTO.getMakerId());
+	    	return switch (result) {
+	    		case UPDATED -> ResponseEntity.ok("Registro Actualizado");
+	    		case NOT_FOUND -> ResponseEntity.notFound().build();
+	    		case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body("Registro modificado por otro usuario");
+	    		case INVALID_MAKER -> ResponseEntity.badRequest().body("No existe el maker " + patchDTO.getMakerId());
+	    	};
+	    }
+
+
 	@Operation(
 			summary = "Eliminar un Producto",
 			description = "Elimina un Producto existente identificado por su ID. Solo accesible para usuarios con rol ADMIN.",
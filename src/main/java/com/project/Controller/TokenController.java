@@ -0,0 +1,145 @@
+package com.project.Controller;
+
+import com.project.Controller.dto.RefreshTokenDTO;
+import com.project.security.jwt.JwtSigningStrategy;
+import com.project.security.jwt.JwtUtils;
+import com.project.security.jwt.TokenValidationResult;
+import com.project.security.jwt.VerifiedTokenCache;
+import com.project.security.revocation.TokenRevocationService;
+import com.project.service.CachedUserDetailsService;
+import com.project.service.RefreshTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/token")
+@Tag(name = "Token", description = "Controller of endpoints for Token")
+public class TokenController {
+
+    @Autowired
+    private JwtSigningStrategy signingStrategy;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Operation(
+            summary = "Claves publicas de firma (JWKS)",
+            description = "Devuelve las claves publicas vigentes, indexadas por kid, para verificar los tokens sin conocer el secreto. Vacio si la firma es HS256.",
+            tags = {"Token"},
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Conjunto de claves recuperado exitosamente",
+                            content = @Content(mediaType = "application/json")
+                    )
+            }
+    )
+    @GetMapping("/jwks")
+    public ResponseEntity<?> jwks(){
+        return ResponseEntity.ok(Map.of("keys", signingStrategy.getPublicKeys()));
+    }
+
+    @Operation(
+            summary = "Revocar el token actual",
+            description = "Revoca el token de acceso enviado en la cabecera Authorization hasta su expiracion original.",
+            tags = {"Authentication", "Token"},
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Token revocado exitosamente",
+                            content = @Content(schema = @Schema(type = "string"))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "El token enviado no es valido",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/revoke")
+    public ResponseEntity<?> revoke(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization){
+        TokenValidationResult validation = authorization.startsWith("Bearer ")
+                ? verifiedTokenCache.validate(authorization.substring(7))
+                : null;
+        if (validation == null || !validation.isValid() || validation.getTokenId() == null){
+            return ResponseEntity.badRequest().build();
+        }
+        tokenRevocationService.revoke(validation.getTokenId(), validation.getExpiresAt());
+        return ResponseEntity.ok("Token revocado");
+    }
+
+    @Operation(
+            summary = "Renovar el token de acceso",
+            description = "Canjea un refresh token por un token de acceso nuevo y un refresh token nuevo. Cada refresh token solo se puede usar una vez; reutilizarlo invalida toda su familia.",
+            tags = {"Authentication", "Token"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Refresh token obtenido en el login o en la ultima renovacion",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = RefreshTokenDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Tokens renovados exitosamente",
+                            content = @Content(mediaType = "application/json")
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Refresh token invalido, caducado, revocado o reutilizado",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenDTO refreshTokenDTO){
+        if (refreshTokenDTO.getRefreshToken() == null || refreshTokenDTO.getRefreshToken().isBlank()){
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<RefreshTokenService.RotatedToken> rotated = refreshTokenService.rotate(refreshTokenDTO.getRefreshToken());
+        if (rotated.isEmpty()){
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(rotated.get().username());
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Map<String, Object> httpResponse = new HashMap<>();
+        httpResponse.put("Token", jwtUtils.generateAccessToken(userDetails.getUsername(), userDetails.getAuthorities()));
+        httpResponse.put("RefreshToken", rotated.get().refreshToken());
+        httpResponse.put("Username", userDetails.getUsername());
+        return ResponseEntity.ok(httpResponse);
+    }
+}
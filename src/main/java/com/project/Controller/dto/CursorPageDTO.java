@@ -0,0 +1,38 @@
+package com.project.Controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    // Cursor opaco para pedir la pagina siguiente; null si no hay mas
+    private String nextCursor;
+
+    public static <T> CursorPageDTO<T> of(List<T> items, int limit, Long lastId){
+        String nextCursor = items.size() == limit && lastId != null ? encodeCursor(lastId) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    public static String encodeCursor(Long id){
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    //0 si no hay cursor; lanza IllegalArgumentException si el cursor no es valido
+    public static long decodeCursor(String cursor){
+        if (cursor == null || cursor.isBlank()){
+            return 0L;
+        }
+        return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+    }
+}
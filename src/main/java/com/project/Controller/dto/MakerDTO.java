@@ -19,4 +19,6 @@ public class MakerDTO {
     private Long id;
     private String name;
     private List<Product> productList = new ArrayList<>();
+    // Version leida por el cliente; si se envia y no coincide, la actualizacion devuelve 409
+    private Long version;
 }
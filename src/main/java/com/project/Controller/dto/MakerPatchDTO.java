@@ -0,0 +1,18 @@
+package com.project.Controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Actualizacion parcial de un Maker: solo se cambian los campos no nulos
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MakerPatchDTO {
+
+    private String name;
+    // Version que el cliente leyo; obligatoria
+    private Long version;
+}
@@ -19,5 +19,7 @@ public class ProductDTO {
 	     private String name;
 	     private BigDecimal price;
 	     private Maker maker;
+	     // Version leida por el cliente; si se envia y no coincide, la actualizacion devuelve 409
+	     private Long version;
 
 }
@@ -0,0 +1,22 @@
+package com.project.Controller.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Actualizacion parcial de un Producto: solo se cambian los campos no nulos
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductPatchDTO {
+
+    private String name;
+    private BigDecimal price;
+    private Long makerId;
+    // Version que el cliente leyo; obligatoria
+    private Long version;
+}
@@ -0,0 +1,49 @@
+package com.project.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+//Tasa de aciertos de la cache de segundo nivel (por region), a partir de las estadisticas de Hibernate
+@Component
+public class EntityCacheMetrics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void init(){
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()){
+            return;
+        }
+        Gauge.builder("hibernate.cache.hit.ratio", statistics,
+                        stats -> ratio(stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount()))
+                .tag("region", "all")
+                .register(meterRegistry);
+        for (String region : statistics.getSecondLevelCacheRegionNames()){
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, stats -> regionRatio(stats, region))
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static double regionRatio(Statistics statistics, String region){
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        return regionStatistics == null ? 0.0 : ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses){
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -2,6 +2,9 @@ package com.project.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "maker")
 @Table(name = "fabricantes")
 public class Maker {
 
@@ -22,7 +27,13 @@ public class Maker {
     private Long id;
     private String name;
 
+    // Bloqueo optimista: cada UPDATE comprueba y sube la version
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @OneToMany(mappedBy = "maker",cascade = CascadeType.ALL,fetch = FetchType.LAZY,orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "maker-products")
     @JsonIgnore
     private List<Product> productList = new ArrayList<>();
 }
@@ -3,6 +3,9 @@ package com.project.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -14,15 +17,25 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "producto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@Table(name = "producto", indexes = @Index(name = "idx_producto_price", columnList = "price"))
 public class Product {
 
+    // Secuencia con reserva de 50 ids por viaje (pooled): permite agrupar los INSERT en lotes JDBC.
+    // Empieza en 1000 para no chocar con los ids de import.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "producto_seq")
+    @SequenceGenerator(name = "producto_seq", sequenceName = "producto_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
     private String name;
     private BigDecimal price;
 
+    // Bloqueo optimista: cada UPDATE comprueba y sube la version
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "id_fabricantes", nullable = false)
     @JsonIgnore
@@ -0,0 +1,33 @@
+package com.project.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // SHA-256 del token opaco; el token en claro nunca se guarda
+    @Column(length = 64, nullable = false)
+    private String tokenHash;
+    private String username;
+    // Todos los tokens obtenidos por rotacion desde un mismo login comparten familia
+    @Column(length = 36, nullable = false)
+    private String familyId;
+    private long expiresAt;
+    private boolean used;
+    private boolean revoked;
+}
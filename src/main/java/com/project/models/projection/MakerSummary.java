@@ -0,0 +1,5 @@
+package com.project.models.projection;
+
+//Resumen de un Maker calculado en una sola consulta agregada
+public record MakerSummary(Long id, String name, long productCount) {
+}
@@ -0,0 +1,7 @@
+package com.project.models.projection;
+
+import java.util.List;
+
+//Vista inmutable de un Maker con sus productos: se puede compartir entre hilos, a diferencia de la entidad gestionada
+public record MakerView(Long id, String name, List<ProductView> productList, Long version) {
+}
@@ -0,0 +1,7 @@
+package com.project.models.projection;
+
+import java.math.BigDecimal;
+
+//Histograma de precios: counts[i] son los productos con precio en [min + i*bucketWidth, min + (i+1)*bucketWidth); el ultimo incluye max
+public record PriceHistogram(BigDecimal min, BigDecimal max, BigDecimal bucketWidth, long[] counts) {
+}
@@ -0,0 +1,5 @@
+package com.project.models.projection;
+
+//id y nombre de un Producto, para construir el indice de busqueda
+public record ProductName(Long id, String name) {
+}
@@ -0,0 +1,7 @@
+package com.project.models.projection;
+
+import java.math.BigDecimal;
+
+//Id y precio de un Producto, para construir el indice de precios en memoria
+public record ProductPrice(Long id, BigDecimal price) {
+}
@@ -0,0 +1,7 @@
+package com.project.models.projection;
+
+import java.math.BigDecimal;
+
+//Vista de solo lectura de un Producto: solo las columnas que se muestran, sin entidades ni proxies de Hibernate
+public record ProductView(Long id, String name, BigDecimal price, Long makerId, String makerName, Long version) {
+}
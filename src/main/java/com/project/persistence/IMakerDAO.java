@@ -1,14 +1,26 @@
 package com.project.persistence;
 
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface IMakerDAO {
 
     Optional<Maker> findById(Long id);
+    Optional<Maker> findWithProducts(Long id);
     List<Maker> findAll();
+    List<Maker> findSlice(long afterId, int limit);
+    List<MakerSummary> findSummarySlice(long afterId, int limit);
+    Set<Long> findExistingIds(Collection<Long> ids);
+    void insertAll(List<Maker> makers);
+    int[] updateAll(List<Maker> makers);
+    int patch(long id, long version, String name);
+    boolean existsById(long id);
+    int deleteAllById(Collection<Long> ids);
     void save(Maker maker);
     void deleteById(Long id);
 }
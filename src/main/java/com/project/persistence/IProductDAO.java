@@ -1,16 +1,37 @@
 package com.project.persistence;
 
 import com.project.models.Product;
+import com.project.models.projection.ProductName;
+import com.project.models.projection.ProductPrice;
+import com.project.models.projection.ProductView;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IProductDAO {
 
     List<Product> findAll();
+    List<ProductView> findViewSlice(long afterId, int limit);
+    Optional<ProductView> findViewById(long id);
+    void forEachProduct(int fetchSize, Consumer<Product> consumer);
     Optional<Product> findById(long id);
     List<Product> findByPriceInRange(BigDecimal minPrice,BigDecimal maxPrice);
+    List<Product> findAllByIds(long[] ids);
+    List<ProductView> findViewsByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit);
+    List<ProductView> findViewsByIds(long[] ids);
+    long[] countByPriceBucket(BigDecimal minPrice, BigDecimal maxPrice, BigDecimal bucketWidth, int buckets);
+    List<ProductPrice> findAllPrices();
+    List<ProductName> findAllNames();
     void save(Product product);
+    void persistAll(List<Product> products);
+    int[] updateAll(List<Product> products);
+    int patch(long id, long version, String name, BigDecimal price, Long makerId);
+    boolean existsById(long id);
+    Set<Long> findExistingIds(Collection<Long> ids);
+    int deleteAllById(Collection<Long> ids);
     void deleteById(Long id);
 }
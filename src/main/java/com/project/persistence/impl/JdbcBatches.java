@@ -0,0 +1,37 @@
+package com.project.persistence.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//Utilidades para los resultados de JdbcTemplate.batchUpdate
+final class JdbcBatches {
+
+    private JdbcBatches() {
+    }
+
+    //filas afectadas por cada elemento, en el orden de entrada (batchUpdate las devuelve agrupadas por lote)
+    static int[] flatten(int[][] counts, int size) {
+        int[] result = new int[size];
+        int position = 0;
+        for (int[] batch : counts) {
+            System.arraycopy(batch, 0, result, position, batch.length);
+            position += batch.length;
+        }
+        return result;
+    }
+
+    //ejecutar tras el commit de la transaccion en curso (o ya, si no hay ninguna).
+    //Las evicciones de la cache de segundo nivel van aqui: antes del commit otra lectura podria volver a cargar la fila antigua
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
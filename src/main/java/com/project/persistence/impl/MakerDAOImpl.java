@@ -1,35 +1,138 @@
 package com.project.persistence.impl;
 
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
 import com.project.persistence.IMakerDAO;
 import com.project.repository.MakerRepository;
+import com.project.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-@Component
+@Repository
 public class MakerDAOImpl implements IMakerDAO {
 
     @Autowired
     private MakerRepository makerRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int jdbcBatchSize;
+
     @Override
     public Optional<Maker> findById(Long id) {
         return makerRepository.findById(id);
     }
 
+    @Override
+    public Optional<Maker> findWithProducts(Long id) {
+        return makerRepository.findWithProductsById(id);
+    }
+
     @Override
     public List<Maker> findAll() {
         return (List<Maker>) makerRepository.findAll();
     }
 
+    @Override
+    public List<Maker> findSlice(long afterId, int limit) {
+        // Primero los ids de la pagina y luego los makers con sus productos: dos consultas sea cual sea el tamaño
+        List<Long> ids = makerRepository.findIdsAfter(afterId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return makerRepository.findWithProductsByIdIn(ids);
+    }
+
+    @Override
+    public List<MakerSummary> findSummarySlice(long afterId, int limit) {
+        return makerRepository.findSummariesAfter(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(makerRepository.findExistingIds(ids));
+    }
+
     @Override
     public void save(Maker maker) {
         makerRepository.save(maker);
     }
 
+    //INSERT por lotes JDBC: con ids IDENTITY Hibernate no puede agruparlos; las filas nuevas no estan en la cache de segundo nivel
+    @Override
+    @Transactional
+    public void insertAll(List<Maker> makers) {
+        jdbcTemplate.batchUpdate("INSERT INTO fabricantes (name, version) VALUES (?, 0)", makers, jdbcBatchSize,
+                (statement, maker) -> statement.setString(1, maker.getName()));
+    }
+
+    //UPDATE por lotes JDBC; devuelve las filas afectadas por cada maker (0 si no existe)
+    @Override
+    @Transactional
+    public int[] updateAll(List<Maker> makers) {
+        int[][] counts = jdbcTemplate.batchUpdate("UPDATE fabricantes SET name = ?, version = version + 1 WHERE id = ?", makers, jdbcBatchSize,
+                (statement, maker) -> {
+                    statement.setString(1, maker.getName());
+                    statement.setLong(2, maker.getId());
+                });
+        // JDBC no pasa por Hibernate: tras el commit se sacan de la cache de segundo nivel los makers
+        JdbcBatches.afterCommit(() -> {
+            for (Maker maker : makers) {
+                sessionFactory().getCache().evictEntityData(Maker.class, maker.getId());
+            }
+        });
+        return JdbcBatches.flatten(counts, makers.size());
+    }
+
+    //UPDATE condicionado a la version; devuelve 0 si no existe o la version no coincide
+    @Override
+    @Transactional
+    public int patch(long id, long version, String name) {
+        return entityManager.createQuery("UPDATE Maker m SET m.name = :name, m.version = m.version + 1 WHERE m.id = :id AND m.version = :version")
+                .setParameter("name", name)
+                .setParameter("id", id)
+                .setParameter("version", version)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return makerRepository.existsById(id);
+    }
+
+    //primero los productos de esos makers y despues los makers, dos sentencias en total
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        productRepository.deleteAllByMakerIdIn(ids);
+        return makerRepository.deleteAllByIdIn(ids);
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+    }
+
     @Override
     public void deleteById(Long id) {
         makerRepository.deleteById(id);
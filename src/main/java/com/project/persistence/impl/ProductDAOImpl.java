@@ -1,26 +1,87 @@
 package com.project.persistence.impl;
 
+import com.project.models.Maker;
 import com.project.models.Product;
+import com.project.models.projection.ProductName;
+import com.project.models.projection.ProductPrice;
+import com.project.models.projection.ProductView;
 import com.project.persistence.IProductDAO;
 import com.project.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-@Component
+@Repository
 public class ProductDAOImpl  implements IProductDAO {
 
+    private static final int IN_CHUNK = 1000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int jdbcBatchSize;
+
     @Override
     public List<Product> findAll() {
         return (List<Product>) productRepository.findAll();
     }
 
+    @Override
+    public List<ProductView> findViewSlice(long afterId, int limit) {
+        return productRepository.findViewsAfter(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public Optional<ProductView> findViewById(long id) {
+        return productRepository.findViewById(id);
+    }
+
+    //recorre todo el catalogo con un cursor JDBC; cada producto se desvincula tras procesarlo
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachProduct(int fetchSize, Consumer<Product> consumer) {
+        try (Stream<Product> products = entityManager
+                .createQuery("SELECT p FROM Product p JOIN FETCH p.maker ORDER BY p.id", Product.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
     @Override
     public Optional<Product> findById(long id) {
         return  productRepository.findById(id);
@@ -31,11 +92,166 @@ public class ProductDAOImpl  implements IProductDAO {
         return  productRepository.findProductByPriceInRange(minPrice,maxPrice);
     }
 
+    //productos por id en el mismo orden que los ids, consultados por bloques de IN_CHUNK
+    @Override
+    public List<Product> findAllByIds(long[] ids) {
+        Map<Long, Product> productsById = new HashMap<>(ids.length * 2);
+        for (int from = 0; from < ids.length; from += IN_CHUNK) {
+            List<Long> chunk = new ArrayList<>(Math.min(IN_CHUNK, ids.length - from));
+            for (int i = from; i < Math.min(from + IN_CHUNK, ids.length); i++) {
+                chunk.add(ids[i]);
+            }
+            productRepository.findAllById(chunk).forEach(product -> productsById.put(product.getId(), product));
+        }
+        List<Product> products = new ArrayList<>(productsById.size());
+        for (long id : ids) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return productRepository.findViewsByPriceBetween(minPrice, maxPrice,
+                Sort.by(direction, "price").and(Sort.by(direction, "id")), Limit.of(limit));
+    }
+
+    //vistas por id en el mismo orden que los ids
+    @Override
+    public List<ProductView> findViewsByIds(long[] ids) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, ProductView> viewsById = new HashMap<>(ids.length * 2);
+        for (ProductView view : productRepository.findViewsByIdIn(idList)) {
+            viewsById.put(view.id(), view);
+        }
+        List<ProductView> views = new ArrayList<>(viewsById.size());
+        for (long id : ids) {
+            ProductView view = viewsById.get(id);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+
+    //histograma en una sola consulta: un GROUP BY sobre el numero de intervalo de cada precio
+    @Override
+    public long[] countByPriceBucket(BigDecimal minPrice, BigDecimal maxPrice, BigDecimal bucketWidth, int buckets) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT FLOOR((p.price - :minPrice) / :width) AS bucket, COUNT(p) FROM Product p "
+                                + "WHERE p.price BETWEEN :minPrice AND :maxPrice GROUP BY bucket", Object[].class)
+                .setParameter("minPrice", minPrice)
+                .setParameter("maxPrice", maxPrice)
+                .setParameter("width", bucketWidth)
+                .getResultList();
+        long[] counts = new long[buckets];
+        for (Object[] row : rows) {
+            // El precio maximo cae justo en el limite superior: se cuenta en el ultimo intervalo
+            int bucket = (int) Math.min(((Number) row[0]).longValue(), buckets - 1);
+            counts[bucket] += ((Number) row[1]).longValue();
+        }
+        return counts;
+    }
+
+    @Override
+    public List<ProductPrice> findAllPrices() {
+        return productRepository.findAllPrices();
+    }
+
+    @Override
+    public List<ProductName> findAllNames() {
+        return productRepository.findAllNames();
+    }
+
+    //el maker llega del cliente solo con id (sin version): se sustituye por una referencia gestionada
     @Override
+    @Transactional
     public void save(Product product) {
+        if (product.getMaker() != null && product.getMaker().getId() != null) {
+            product.setMaker(entityManager.getReference(Maker.class, product.getMaker().getId()));
+        }
         productRepository.save(product);
     }
 
+    //inserta todos en una transaccion; los INSERT se agrupan en lotes de hibernate.jdbc.batch_size
+    @Override
+    @Transactional
+    public void persistAll(List<Product> products) {
+        for (Product product : products) {
+            // Referencia al maker por id, sin consultarlo
+            product.setMaker(entityManager.getReference(Maker.class, product.getMaker().getId()));
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    //UPDATE por lotes JDBC sin cargar las entidades; devuelve las filas afectadas por cada producto (0 si no existe)
+    @Override
+    @Transactional
+    public int[] updateAll(List<Product> products) {
+        int[][] counts = jdbcTemplate.batchUpdate("UPDATE producto SET name = ?, price = ?, id_fabricantes = ?, version = version + 1 WHERE id = ?",
+                products, jdbcBatchSize, (statement, product) -> {
+                    statement.setString(1, product.getName());
+                    statement.setBigDecimal(2, product.getPrice());
+                    statement.setLong(3, product.getMaker().getId());
+                    statement.setLong(4, product.getId());
+                });
+        // JDBC no pasa por Hibernate: tras el commit se sacan de la cache de segundo nivel los productos y las listas de los makers
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        JdbcBatches.afterCommit(() -> {
+            for (Product product : products) {
+                sessionFactory.getCache().evictEntityData(Product.class, product.getId());
+            }
+            sessionFactory.getCache().evictCollectionData(Maker.class.getName() + ".productList");
+        });
+        return JdbcBatches.flatten(counts, products.size());
+    }
+
+    //un solo UPDATE con los campos no nulos, condicionado a la version; devuelve 0 si no existe o la version no coincide
+    @Override
+    @Transactional
+    public int patch(long id, long version, String name, BigDecimal price, Long makerId) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = builder.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+        if (name != null) {
+            update.set(product.<String>get("name"), name);
+        }
+        if (price != null) {
+            update.set(product.<BigDecimal>get("price"), price);
+        }
+        if (makerId != null) {
+            update.set(product.<Maker>get("maker"), entityManager.getReference(Maker.class, makerId));
+        }
+        update.set(product.<Long>get("version"), builder.sum(product.<Long>get("version"), 1L));
+        update.where(builder.equal(product.get("id"), id), builder.equal(product.get("version"), version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return productRepository.existsById(id);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(productRepository.findExistingIds(ids));
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        return productRepository.deleteAllByIdIn(ids);
+    }
+
     @Override
     public void deleteById(Long id) {
         productRepository.deleteById(id);
@@ -1,9 +1,39 @@
 package com.project.repository;
 
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MakerRepository extends CrudRepository<Maker,Long> {
+
+    //pagina por clave (keyset) sobre la clave primaria
+    @Query("SELECT m.id FROM Maker m WHERE m.id > ?1 ORDER BY m.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    //makers con sus productos en una sola consulta (sin un SELECT por maker)
+    @Query("SELECT DISTINCT m FROM Maker m LEFT JOIN FETCH m.productList WHERE m.id IN ?1 ORDER BY m.id")
+    List<Maker> findWithProductsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT m.id FROM Maker m WHERE m.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Maker m WHERE m.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "productList")
+    Optional<Maker> findWithProductsById(Long id);
+
+    @Query("SELECT new com.project.models.projection.MakerSummary(m.id, m.name, COUNT(p)) FROM Maker m LEFT JOIN m.productList p WHERE m.id > ?1 GROUP BY m.id, m.name ORDER BY m.id")
+    List<MakerSummary> findSummariesAfter(Long id, Limit limit);
 }
@@ -1,12 +1,20 @@
 package com.project.repository;
 
 import com.project.models.Product;
+import com.project.models.projection.ProductName;
+import com.project.models.projection.ProductPrice;
+import com.project.models.projection.ProductView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends CrudRepository<Product,Long> {
@@ -15,4 +23,36 @@ public interface ProductRepository extends CrudRepository<Product,Long> {
     List<Product> findProductByPriceInRange(BigDecimal minPrice,BigDecimal maxPrice);
 
     List<Product> findProductByPriceBetween(BigDecimal minPrice,BigDecimal maxPrice);
+
+    //pagina por clave (keyset) sobre la clave primaria, proyectada sin cargar entidades
+    @Query("SELECT new com.project.models.projection.ProductView(p.id, p.name, p.price, m.id, m.name, p.version) FROM Product p JOIN p.maker m WHERE p.id > ?1 ORDER BY p.id")
+    List<ProductView> findViewsAfter(Long id, Limit limit);
+
+    @Query("SELECT new com.project.models.projection.ProductView(p.id, p.name, p.price, m.id, m.name, p.version) FROM Product p JOIN p.maker m WHERE p.id = ?1")
+    Optional<ProductView> findViewById(Long id);
+
+    //rango de precios ordenado y acotado; ORDER BY price + LIMIT se resuelve con idx_producto_price
+    @Query("SELECT new com.project.models.projection.ProductView(p.id, p.name, p.price, m.id, m.name, p.version) FROM Product p JOIN p.maker m WHERE p.price BETWEEN ?1 AND ?2")
+    List<ProductView> findViewsByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Sort sort, Limit limit);
+
+    @Query("SELECT new com.project.models.projection.ProductView(p.id, p.name, p.price, m.id, m.name, p.version) FROM Product p JOIN p.maker m WHERE p.id IN ?1")
+    List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    //borrado en una sola sentencia, sin cargar las entidades
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.maker.id IN ?1")
+    int deleteAllByMakerIdIn(Collection<Long> makerIds);
+
+    @Query("SELECT new com.project.models.projection.ProductPrice(p.id, p.price) FROM Product p")
+    List<ProductPrice> findAllPrices();
+
+    @Query("SELECT new com.project.models.projection.ProductName(p.id, p.name) FROM Product p")
+    List<ProductName> findAllNames();
 }
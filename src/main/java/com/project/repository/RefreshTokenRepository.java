@@ -0,0 +1,32 @@
+package com.project.repository;
+
+import com.project.models.RefreshToken;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends CrudRepository<RefreshToken,Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    //marcar como usado solo si nadie lo ha usado antes (0 filas = reutilizacion)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.used = true WHERE r.id = ?1 AND r.used = false")
+    int markUsed(Long id);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = ?1")
+    int revokeFamily(String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.username = ?1")
+    int deleteByUsername(String username);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= ?1")
+    int deleteExpired(long now);
+}
@@ -1,12 +1,17 @@
 package com.project.security.filters;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.project.models.UserEntity;
 import com.project.security.jwt.JwtUtils;
+import com.project.security.password.PasswordHashingRejectedException;
+import com.project.security.ratelimit.LoginRateLimitedException;
+import com.project.security.ratelimit.LoginRateLimiter;
+import com.project.service.RefreshTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,31 +21,42 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private JwtUtils jwtUtils;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils){
+    private RefreshTokenService refreshTokenService;
+
+    private ObjectMapper objectMapper;
+
+    private LoginRateLimiter loginRateLimiter;
+
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, RefreshTokenService refreshTokenService, ObjectMapper objectMapper,
+                                   LoginRateLimiter loginRateLimiter){
         this.jwtUtils = jwtUtils;
+        this.refreshTokenService = refreshTokenService;
+        this.objectMapper = objectMapper;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
-        UserEntity userEntity = null;
-        String username = "";
-        String password = "";
+        LoginRequest loginRequest;
 
         try{
-            userEntity = new ObjectMapper().readValue(request.getInputStream(), UserEntity.class);
-            username = userEntity.getUsername();
-            password = userEntity.getPassword();
-
+            loginRequest = objectMapper.readValue(request.getInputStream(), LoginRequest.class);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        String username = loginRequest.username() != null ? loginRequest.username() : "";
+        String password = loginRequest.password() != null ? loginRequest.password() : "";
+
+        // Limite por usuario antes de BCrypt: frena el credential stuffing repartido entre muchas IPs
+        long retryAfter = loginRateLimiter.tryAcquireForUsername(username);
+        if (retryAfter > 0){
+            throw new LoginRateLimitedException(retryAfter);
+        }
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username,password);
         return getAuthenticationManager().authenticate(authenticationToken);
     }
@@ -48,18 +64,37 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authResult) throws IOException, ServletException {
         User user = (User) authResult.getPrincipal();
-        String token = jwtUtils.generateAccessToken(user.getUsername());
-        response.addHeader("Authorization: ", token);
-        Map<String, Object> httpResponse = new HashMap<>();
-        httpResponse.put("Token" ,token);
-        httpResponse.put("Message", "Autenticacion Correcta");
-        httpResponse.put("Username", user.getUsername());
-
-        response.getWriter().write(new ObjectMapper().writeValueAsString(httpResponse));
+        String token = jwtUtils.generateAccessToken(user.getUsername(), user.getAuthorities());
+        String refreshToken = refreshTokenService.issue(user.getUsername());
+        response.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
         response.setStatus(HttpStatus.OK.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getWriter().flush();
+
+        // Se escribe directamente sobre la salida, sin Map intermedio ni String con todo el JSON
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeStringField("Token", token);
+            generator.writeStringField("RefreshToken", refreshToken);
+            generator.writeStringField("Message", "Autenticacion Correcta");
+            generator.writeStringField("Username", user.getUsername());
+            generator.writeEndObject();
+        }
 
         super.successfulAuthentication(request, response, chain, authResult);
     }
+
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) throws IOException, ServletException {
+        if (failed instanceof PasswordHashingRejectedException){
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), failed.getMessage());
+            return;
+        }
+        if (failed instanceof LoginRateLimitedException rateLimited){
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rateLimited.getRetryAfterSeconds()));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), failed.getMessage());
+            return;
+        }
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
 }
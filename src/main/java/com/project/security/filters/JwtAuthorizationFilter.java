@@ -1,29 +1,42 @@
 package com.project.security.filters;
 
-import com.project.security.jwt.JwtUtils;
-import com.project.service.UserDetailsServiceImpl;
+import com.project.security.jwt.TokenValidationResult;
+import com.project.security.jwt.VerifiedTokenCache;
+import com.project.security.revocation.TokenRevocationService;
+import com.project.service.CachedUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Si esta activo, los roles se leen del token y no de la base de datos hasta que venza el claim de revalidacion
+    @Value("${jwt.authorities.stateless}")
+    private boolean statelessAuthorities;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -32,15 +45,31 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
      String tokenHeader = request.getHeader("Authorization");
      if (tokenHeader != null && tokenHeader.startsWith("Bearer ")){
          String token = tokenHeader.substring(7);
-         if (jwtUtils.isTokenValid(token)){
-             String username = jwtUtils.getUsernameFromToken(token);
-             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+         TokenValidationResult validation = verifiedTokenCache.validate(token);
+         if (validation.isValid() && !tokenRevocationService.isRevoked(validation.getTokenId())){
+             String username = validation.getUsername();
+             Collection<? extends GrantedAuthority> authorities = resolveAuthorities(validation, username);
+             if (authorities != null){
+                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username,null,authorities);
 
-             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username,null,userDetails.getAuthorities());
-
-             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+             }
          }
      }
      filterChain.doFilter(request,response);
     }
+
+    //roles del token si siguen vigentes; si no, los del usuario (null si ya no existe)
+    private Collection<? extends GrantedAuthority> resolveAuthorities(TokenValidationResult validation, String username){
+        if (statelessAuthorities && validation.hasFreshAuthorities(System.currentTimeMillis())
+                && !userDetailsService.isRecentlyInvalidated(username)){
+            return validation.getAuthorities();
+        }
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            return userDetails.getAuthorities();
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
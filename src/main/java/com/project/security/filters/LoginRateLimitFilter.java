@@ -0,0 +1,42 @@
+package com.project.security.filters;
+
+import com.project.security.ratelimit.LoginRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//Corta los intentos de login por IP antes de leer el cuerpo o calcular ningun hash
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !"/login".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long retryAfter = loginRateLimiter.tryAcquireForIp(request.getRemoteAddr());
+        if (retryAfter > 0){
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Demasiados intentos de login");
+            return;
+        }
+        filterChain.doFilter(request,response);
+    }
+}
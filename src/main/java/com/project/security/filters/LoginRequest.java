@@ -0,0 +1,5 @@
+package com.project.security.filters;
+
+//Credenciales enviadas a /login
+public record LoginRequest(String username, String password) {
+}
@@ -0,0 +1,37 @@
+package com.project.security.jwt;
+
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+
+//HS256 con el secreto compartido de jwt.secret.key
+public class HmacSigningStrategy implements JwtSigningStrategy {
+
+    private final SecretKey signatureKey;
+
+    public HmacSigningStrategy(String base64SecretKey){
+        this.signatureKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64SecretKey));
+    }
+
+    @Override
+    public String sign(JwtBuilder builder) {
+        return builder.signWith(signatureKey, Jwts.SIG.HS256).compact();
+    }
+
+    @Override
+    public JwtParserBuilder configureVerification(JwtParserBuilder parserBuilder) {
+        return parserBuilder.verifyWith(signatureKey);
+    }
+
+    @Override
+    public List<PublicJwk<?>> getPublicKeys() {
+        return List.of();
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+
+@Configuration
+public class JwtSigningConfig {
+
+    //HS256 (secreto compartido), ES256 o EdDSA (claves en memoria con rotacion)
+    @Bean
+    JwtSigningStrategy jwtSigningStrategy(@Value("${jwt.signing.algorithm}") String algorithm,
+                                          @Value("${jwt.secret.key}") String secretKey,
+                                          @Value("${jwt.signing.grace-period}") long gracePeriod){
+        return switch (algorithm) {
+            case "HS256" -> new HmacSigningStrategy(secretKey);
+            case "ES256" -> new KeyRingSigningStrategy(Jwts.SIG.ES256, Jwts.SIG.ES256, gracePeriod);
+            case "EdDSA" -> new KeyRingSigningStrategy(Jwts.SIG.EdDSA, Jwks.CRV.Ed25519, gracePeriod);
+            default -> throw new IllegalArgumentException("Algoritmo de firma no soportado: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.security.jwt;
+
+import java.util.List;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.security.PublicJwk;
+
+//Estrategia de firma y verificacion de los tokens de acceso
+public interface JwtSigningStrategy {
+
+    //firmar y compactar el token con la clave activa
+    String sign(JwtBuilder builder);
+
+    //configurar la clave (o el localizador de claves) con la que el parser verifica
+    JwtParserBuilder configureVerification(JwtParserBuilder parserBuilder);
+
+    //claves publicas para que otros nodos verifiquen sin conocer el secreto (vacio en HMAC)
+    List<PublicJwk<?>> getPublicKeys();
+}
@@ -1,52 +1,103 @@
 package com.project.security.jwt;
 
-import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
-    @Value("${jwt.secret.key}")
-    private String secretKey;
+    @Autowired
+    private JwtSigningStrategy signingStrategy;
 
     @Value("${jwt.time.expiration}")
     private String timeExpiration;
 
-    //Generar token de acceso
-    public String generateAccessToken(String username){
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date( System.currentTimeMillis() + Long.parseLong(timeExpiration)))
-                .signWith(getSignatureKey(), SignatureAlgorithm.HS256)
-                .compact();
+    @Value("${jwt.authorities.recheck-interval}")
+    private long authoritiesRecheckInterval;
+
+    // El parser es inmutable y thread-safe: se construye una sola vez al arrancar
+    private JwtParser jwtParser;
+    private long expirationMillis;
+
+    // Contadores de tokens rechazados por motivo; sustituyen al log por cada token invalido
+    private final Map<TokenFailureReason, LongAdder> invalidTokenCounters = new EnumMap<>(TokenFailureReason.class);
+
+    public JwtUtils(){
+        for (TokenFailureReason reason : TokenFailureReason.values()){
+            invalidTokenCounters.put(reason, new LongAdder());
+        }
+    }
+
+    @PostConstruct
+    void init(){
+        this.jwtParser = signingStrategy.configureVerification(Jwts.parser()).build();
+        this.expirationMillis = Long.parseLong(timeExpiration);
+    }
+
+    //Generar token de acceso con los roles del usuario embebidos
+    public String generateAccessToken(String username, Collection<? extends GrantedAuthority> authorities){
+        long now = System.currentTimeMillis();
+        return signingStrategy.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(TokenValidationResult.ROLES_CLAIM, TokenValidationResult.toRoleNames(authorities))
+                .claim(TokenValidationResult.RECHECK_CLAIM, (now + authoritiesRecheckInterval) / 1000)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMillis)));
     }
 
     //validar el token de acceso
     public boolean isTokenValid(String token){
+        return validateToken(token).isValid();
+    }
+
+    //parsear y verificar el token una sola vez
+    public TokenValidationResult validateToken(String token){
+        TokenFailureReason reason;
         try {
-            Jwts.parser()
-                    .setSigningKey(getSignatureKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return true;
-        } catch (Exception e) {
-            log.error("Token invalido,error: " + e.getMessage());
-            return false;
+            return TokenValidationResult.valid(jwtParser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            reason = TokenFailureReason.EXPIRED;
+        } catch (SecurityException e) {
+            reason = TokenFailureReason.BAD_SIGNATURE;
+        } catch (UnsupportedJwtException e) {
+            reason = TokenFailureReason.UNSUPPORTED;
+        } catch (MalformedJwtException e) {
+            reason = TokenFailureReason.MALFORMED;
+        } catch (IllegalArgumentException e) {
+            reason = TokenFailureReason.EMPTY;
+        } catch (JwtException e) {
+            reason = TokenFailureReason.MALFORMED;
         }
+        invalidTokenCounters.get(reason).increment();
+        return TokenValidationResult.invalid(reason);
+    }
+
+    //numero de tokens rechazados por un motivo concreto
+    public long getInvalidTokenCount(TokenFailureReason reason){
+        return invalidTokenCounters.get(reason).sum();
     }
 
     //obtener el username del token
@@ -62,16 +113,6 @@ public class JwtUtils {
 
     //obtener todos los claims del token
     public Claims extractAllClaims(String token){
-        return  Jwts.parser()
-                .setSigningKey(getSignatureKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    //obtener firma del metodo
-    public Key getSignatureKey(){
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
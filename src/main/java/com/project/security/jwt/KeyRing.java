@@ -0,0 +1,65 @@
+package com.project.security.jwt;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.jsonwebtoken.security.KeyPairBuilderSupplier;
+
+//Anillo de claves asimetricas indexado por kid: una clave activa para firmar y las anteriores durante el periodo de gracia
+public class KeyRing {
+
+    public record RingKey(String kid, PublicKey publicKey, PrivateKey privateKey, long retiredAt) {
+
+        boolean isUsable(long nowMillis){
+            return nowMillis < retiredAt;
+        }
+    }
+
+    private final KeyPairBuilderSupplier keyPairs;
+    private final long gracePeriod;
+    private final Map<String, RingKey> keys = new ConcurrentHashMap<>();
+    private volatile RingKey current;
+
+    public KeyRing(KeyPairBuilderSupplier keyPairs, long gracePeriod){
+        this.keyPairs = keyPairs;
+        this.gracePeriod = gracePeriod;
+        rotate();
+    }
+
+    //generar una clave nueva; la anterior solo verifica hasta que termine el periodo de gracia
+    public synchronized void rotate(){
+        long now = System.currentTimeMillis();
+        KeyPair keyPair = keyPairs.keyPair().build();
+        RingKey next = new RingKey(UUID.randomUUID().toString(), keyPair.getPublic(), keyPair.getPrivate(), Long.MAX_VALUE);
+
+        RingKey previous = current;
+        if (previous != null){
+            keys.put(previous.kid(), new RingKey(previous.kid(), previous.publicKey(), null, now + gracePeriod));
+        }
+        keys.values().removeIf(key -> !key.isUsable(now));
+        keys.put(next.kid(), next);
+        current = next;
+    }
+
+    public RingKey getCurrent(){
+        return current;
+    }
+
+    //clave publica para un kid, o null si no existe o ya caduco
+    public PublicKey getVerificationKey(String kid){
+        RingKey key = kid == null ? null : keys.get(kid);
+        if (key == null || !key.isUsable(System.currentTimeMillis())){
+            return null;
+        }
+        return key.publicKey();
+    }
+
+    public Collection<RingKey> getKeys(){
+        return keys.values();
+    }
+}
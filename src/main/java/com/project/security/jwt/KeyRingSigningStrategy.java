@@ -0,0 +1,66 @@
+package com.project.security.jwt;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.KeyPairBuilderSupplier;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+//ES256 o EdDSA (Ed25519) con rotacion periodica de claves; la verificacion es una busqueda por kid
+public class KeyRingSigningStrategy implements JwtSigningStrategy {
+
+    private final SignatureAlgorithm algorithm;
+    private final KeyRing keyRing;
+
+    public KeyRingSigningStrategy(SignatureAlgorithm algorithm, KeyPairBuilderSupplier keyPairs, long gracePeriod){
+        this.algorithm = algorithm;
+        this.keyRing = new KeyRing(keyPairs, gracePeriod);
+    }
+
+    @Override
+    public String sign(JwtBuilder builder) {
+        KeyRing.RingKey key = keyRing.getCurrent();
+        return builder.header().keyId(key.kid()).and()
+                .signWith(key.privateKey(), algorithm)
+                .compact();
+    }
+
+    @Override
+    public JwtParserBuilder configureVerification(JwtParserBuilder parserBuilder) {
+        return parserBuilder.keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                PublicKey key = keyRing.getVerificationKey(header.getKeyId());
+                if (key == null){
+                    throw new SignatureException("Clave de firma desconocida o caducada");
+                }
+                return key;
+            }
+        });
+    }
+
+    @Override
+    public List<PublicJwk<?>> getPublicKeys() {
+        List<PublicJwk<?>> publicKeys = new ArrayList<>();
+        for (KeyRing.RingKey key : keyRing.getKeys()){
+            publicKeys.add(Jwks.builder().key(key.publicKey()).id(key.kid()).build());
+        }
+        return publicKeys;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.rotation-interval}", initialDelayString = "${jwt.signing.rotation-interval}")
+    public void rotateKeys(){
+        keyRing.rotate();
+    }
+}
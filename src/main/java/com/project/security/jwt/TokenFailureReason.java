@@ -0,0 +1,9 @@
+package com.project.security.jwt;
+
+public enum TokenFailureReason {
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY
+}
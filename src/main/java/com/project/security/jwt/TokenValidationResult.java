@@ -0,0 +1,69 @@
+package com.project.security.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+
+//Resultado de parsear y verificar un token una sola vez: los claims validados o el motivo del fallo
+public record TokenValidationResult(Claims claims, TokenFailureReason failureReason) {
+
+    // Roles sin el prefijo ROLE_, p.ej. ["ADMIN"]
+    public static final String ROLES_CLAIM = "roles";
+    // Instante (segundos epoch) a partir del cual los roles deben volver a leerse de la base de datos
+    public static final String RECHECK_CLAIM = "rchk";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public static TokenValidationResult valid(Claims claims){
+        return new TokenValidationResult(claims, null);
+    }
+
+    public static TokenValidationResult invalid(TokenFailureReason failureReason){
+        return new TokenValidationResult(null, failureReason);
+    }
+
+    public boolean isValid(){
+        return claims != null;
+    }
+
+    public String getUsername(){
+        return claims.getSubject();
+    }
+
+    public String getTokenId(){
+        return claims.getId();
+    }
+
+    public long getExpiresAt(){
+        return claims.getExpiration().getTime();
+    }
+
+    //los roles embebidos solo se pueden usar mientras no haya vencido el intervalo de revalidacion
+    public boolean hasFreshAuthorities(long nowMillis){
+        Long recheckAt = claims.get(RECHECK_CLAIM, Long.class);
+        return claims.containsKey(ROLES_CLAIM) && recheckAt != null && nowMillis < recheckAt * 1000;
+    }
+
+    public List<GrantedAuthority> getAuthorities(){
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles){
+            authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX.concat(role.toString())));
+        }
+        return authorities;
+    }
+
+    static List<String> toRoleNames(Collection<? extends GrantedAuthority> authorities){
+        List<String> roles = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities){
+            String name = authority.getAuthority();
+            roles.add(name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : name);
+        }
+        return roles;
+    }
+}
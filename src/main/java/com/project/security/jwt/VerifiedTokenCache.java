@@ -0,0 +1,90 @@
+package com.project.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+//Cache opcional de tokens ya verificados: las peticiones repetidas evitan el HMAC y el parseo de los claims
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.token-cache.enabled}")
+    private boolean enabled;
+
+    @Value("${jwt.token-cache.maximum-size}")
+    private long maximumSize;
+
+    private Cache<Long, VerifiedToken> cache;
+
+    // Se guarda el token completo para comparar en cada acierto: una colision del hash nunca valida otro token
+    private record VerifiedToken(String token, TokenValidationResult result, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init(){
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(Long key, VerifiedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    //validar el token reutilizando una verificacion previa si la hay
+    public TokenValidationResult validate(String token){
+        if (!enabled){
+            return jwtUtils.validateToken(token);
+        }
+        long key = hash(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && verified.expiresAt() > System.currentTimeMillis() && verified.token().equals(token)){
+            return verified.result();
+        }
+        TokenValidationResult result = jwtUtils.validateToken(token);
+        if (result.isValid() && result.claims().getExpiration() != null){
+            cache.put(key, new VerifiedToken(token, result, result.claims().getExpiration().getTime()));
+        }
+        return result;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres del token
+    private static long hash(String token){
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++){
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
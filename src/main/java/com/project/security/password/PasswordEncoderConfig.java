@@ -0,0 +1,109 @@
+package com.project.security.password;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//Encoder de contraseñas por perfil (bcrypt o argon2) con coste calibrado al arrancar
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final String CALIBRATION_PASSWORD = "calibracion-1234";
+
+    @Value("${security.password.profile}")
+    private String profile;
+
+    @Value("${security.password.bcrypt.strength}")
+    private int bcryptStrength;
+
+    @Value("${security.password.argon2.salt-length}")
+    private int argon2SaltLength;
+
+    @Value("${security.password.argon2.hash-length}")
+    private int argon2HashLength;
+
+    @Value("${security.password.argon2.parallelism}")
+    private int argon2Parallelism;
+
+    @Value("${security.password.argon2.memory}")
+    private int argon2Memory;
+
+    @Value("${security.password.argon2.iterations}")
+    private int argon2Iterations;
+
+    // Latencia objetivo de un hash en ms; 0 desactiva la calibracion y usa los costes configurados
+    @Value("${security.password.calibration.target-latency}")
+    private long targetLatency;
+
+    @Bean
+    PasswordEncoder passwordEncoder(@Value("${security.password.hashing.threads}") int threads,
+                                    @Value("${security.password.hashing.queue-capacity}") int queueCapacity,
+                                    @Value("${security.password.hashing.timeout}") long timeout,
+                                    MeterRegistry meterRegistry){
+        if (!BCRYPT.equals(profile) && !ARGON2.equals(profile)){
+            throw new IllegalArgumentException("Perfil de contraseñas no soportado: " + profile);
+        }
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(BCRYPT.equals(profile) ? calibrateBcryptStrength() : bcryptStrength));
+        encoders.put(ARGON2, new Argon2PasswordEncoder(argon2SaltLength, argon2HashLength, argon2Parallelism, argon2Memory,
+                ARGON2.equals(profile) ? calibrateArgon2Iterations() : argon2Iterations));
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(profile, encoders);
+        // Los hashes antiguos no llevan prefijo {id}: son BCrypt y se actualizan en el siguiente login
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, queueCapacity, timeout, meterRegistry);
+    }
+
+    //cada punto de strength duplica el coste: se extrapola desde el minimo configurado
+    private int calibrateBcryptStrength(){
+        if (targetLatency <= 0){
+            return bcryptStrength;
+        }
+        long elapsed = Math.max(1, measure(new BCryptPasswordEncoder(bcryptStrength)));
+        int strength = bcryptStrength;
+        while (strength < MAX_BCRYPT_STRENGTH && elapsed * 2 <= targetLatency){
+            strength++;
+            elapsed *= 2;
+        }
+        log.info("BCrypt calibrado con strength {} (~{} ms por hash)", strength, elapsed);
+        return strength;
+    }
+
+    //el coste de argon2 crece de forma lineal con las iteraciones
+    private int calibrateArgon2Iterations(){
+        if (targetLatency <= 0){
+            return argon2Iterations;
+        }
+        long elapsed = Math.max(1, measure(new Argon2PasswordEncoder(argon2SaltLength, argon2HashLength,
+                argon2Parallelism, argon2Memory, argon2Iterations)));
+        int iterations = (int) Math.max(argon2Iterations, argon2Iterations * targetLatency / elapsed);
+        log.info("Argon2 calibrado con {} iteraciones (~{} ms por hash)", iterations, elapsed * iterations / argon2Iterations);
+        return iterations;
+    }
+
+    // Mejor de dos ejecuciones para descontar el calentamiento de la JVM
+    private static long measure(PasswordEncoder encoder){
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++){
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
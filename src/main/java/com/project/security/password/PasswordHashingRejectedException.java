@@ -0,0 +1,11 @@
+package com.project.security.password;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+//El ejecutor de hashing esta saturado: la peticion se rechaza en lugar de bloquear un hilo del servidor
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(String msg) {
+        super(msg);
+    }
+}
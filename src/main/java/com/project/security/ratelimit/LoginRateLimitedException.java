@@ -0,0 +1,18 @@
+package com.project.security.ratelimit;
+
+import org.springframework.security.core.AuthenticationException;
+
+//Demasiados intentos de login para un usuario
+public class LoginRateLimitedException extends AuthenticationException {
+
+    private final long retryAfterSeconds;
+
+    public LoginRateLimitedException(long retryAfterSeconds) {
+        super("Demasiados intentos de login");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
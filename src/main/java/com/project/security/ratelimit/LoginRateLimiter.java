@@ -0,0 +1,60 @@
+package com.project.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+//Limites de intentos de login por IP y por usuario, con buckets en mapas acotados que expiran sin uso
+@Component
+public class LoginRateLimiter {
+
+    @Value("${security.login.rate-limit.ip.capacity}")
+    private int ipCapacity;
+
+    @Value("${security.login.rate-limit.ip.refill-period}")
+    private long ipRefillPeriod;
+
+    @Value("${security.login.rate-limit.username.capacity}")
+    private int usernameCapacity;
+
+    @Value("${security.login.rate-limit.username.refill-period}")
+    private long usernameRefillPeriod;
+
+    @Value("${security.login.rate-limit.max-entries}")
+    private long maxEntries;
+
+    private Cache<String, TokenBucket> ipBuckets;
+    private Cache<String, TokenBucket> usernameBuckets;
+
+    @PostConstruct
+    void init(){
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofMillis(ipRefillPeriod))
+                .build();
+        this.usernameBuckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofMillis(usernameRefillPeriod))
+                .build();
+    }
+
+    //0 si se permite el intento; si no, segundos que hay que esperar
+    public long tryAcquireForIp(String ip){
+        TokenBucket bucket = ipBuckets.get(ip, key -> new TokenBucket(ipCapacity, TimeUnit.MILLISECONDS.toNanos(ipRefillPeriod)));
+        return toRetryAfterSeconds(bucket.tryConsume());
+    }
+
+    public long tryAcquireForUsername(String username){
+        TokenBucket bucket = usernameBuckets.get(username, key -> new TokenBucket(usernameCapacity, TimeUnit.MILLISECONDS.toNanos(usernameRefillPeriod)));
+        return toRetryAfterSeconds(bucket.tryConsume());
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos){
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//Token bucket sin bloqueos (GCRA): todo el estado es un instante teorico de llegada que se actualiza con CAS
+public class TokenBucket {
+
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final AtomicLong theoreticalArrival;
+
+    //capacity tokens que se rellenan uniformemente a lo largo de refillPeriodNanos
+    public TokenBucket(int capacity, long refillPeriodNanos){
+        this.emissionInterval = Math.max(1, refillPeriodNanos / capacity);
+        this.burstWindow = emissionInterval * capacity;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstWindow);
+    }
+
+    //0 si se consume un token; si no, nanosegundos hasta que haya uno disponible
+    public long tryConsume(){
+        long now = System.nanoTime();
+        while (true){
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - burstWindow;
+            if (wait > 0){
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)){
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Filtro de Bloom concurrente: "no contiene" es definitivo, "puede contener" hay que confirmarlo
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate){
+        int entries = Math.max(1, expectedEntries);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    public void put(String value){
+        long hash1 = hash(value, 0x9e3779b97f4a7c15L);
+        long hash2 = hash(value, 0xc2b2ae3d27d4eb4fL);
+        for (int i = 0; i < hashCount; i++){
+            int bit = index(hash1 + i * hash2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0){
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value){
+        long hash1 = hash(value, 0x9e3779b97f4a7c15L);
+        long hash2 = hash(value, 0xc2b2ae3d27d4eb4fL);
+        for (int i = 0; i < hashCount; i++){
+            int bit = index(hash1 + i * hash2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(long combinedHash){
+        return (int) ((combinedHash & Long.MAX_VALUE) % bitCount);
+    }
+
+    private static long hash(String value, long seed){
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++){
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
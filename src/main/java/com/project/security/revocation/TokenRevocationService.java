@@ -0,0 +1,75 @@
+package com.project.security.revocation;
+
+import com.project.models.RevokedToken;
+import com.project.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Lista de tokens revocados por jti: filtro de Bloom para descartar rapido y conjunto exacto para confirmar
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries}")
+    private int expectedEntries;
+
+    // jti -> expiracion original del token (epoch ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    @PostConstruct
+    void init(){
+        long now = System.currentTimeMillis();
+        revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken revokedToken : revokedTokenRepository.findAll()){
+            revokedTokens.put(revokedToken.getJti(), revokedToken.getExpiresAt());
+        }
+        rebuildBloomFilter();
+        log.info("Cargados {} tokens revocados", revokedTokens.size());
+    }
+
+    public boolean isRevoked(String jti){
+        if (jti == null || !bloomFilter.mightContain(jti)){
+            return false;
+        }
+        return revokedTokens.containsKey(jti);
+    }
+
+    //revocar un token hasta su expiracion original
+    public synchronized void revoke(String jti, long expiresAt){
+        if (expiresAt <= System.currentTimeMillis() || revokedTokens.containsKey(jti)){
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+        revokedTokens.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+
+    //los tokens ya caducados no necesitan seguir revocados; el filtro de Bloom se reconstruye sin ellos
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval}")
+    public synchronized void purgeExpired(){
+        long now = System.currentTimeMillis();
+        if (revokedTokens.values().removeIf(expiresAt -> expiresAt <= now)){
+            rebuildBloomFilter();
+        }
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private void rebuildBloomFilter(){
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedTokens.size() * 2), FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+    }
+}
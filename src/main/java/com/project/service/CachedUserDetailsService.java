@@ -0,0 +1,76 @@
+package com.project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+//Cache acotada y con TTL delante de UserDetailsServiceImpl para la autorizacion de cada peticion
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.cache.maximum-size}")
+    private long maximumSize;
+
+    @Value("${user.cache.ttl}")
+    private long ttl;
+
+    @Value("${jwt.authorities.recheck-interval}")
+    private long authoritiesRecheckInterval;
+
+    private Cache<String, UserDetails> cache;
+
+    // Usuarios invalidados recientemente; mientras esten aqui no se confia en los roles embebidos en sus tokens
+    private Cache<String, Boolean> invalidatedUsers;
+
+    @PostConstruct
+    void init(){
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        this.invalidatedUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(authoritiesRecheckInterval))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(username, this::loadWithoutCredentials);
+    }
+
+    //invalidar un usuario tras crearlo, modificarlo o borrarlo
+    public void evict(String username){
+        cache.invalidate(username);
+        invalidatedUsers.put(username, Boolean.TRUE);
+    }
+
+    public boolean isRecentlyInvalidated(String username){
+        return invalidatedUsers.getIfPresent(username) != null;
+    }
+
+    // La cache solo se usa para autorizar, asi que no guarda el hash de la contraseña
+    private UserDetails loadWithoutCredentials(String username){
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new User(userDetails.getUsername(), "", userDetails.getAuthorities());
+    }
+}
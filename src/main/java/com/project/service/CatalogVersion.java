@@ -0,0 +1,114 @@
+package com.project.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Versiones del catalogo para los ETag: un contador global que solo crece y se asigna a lo que cambia en cada escritura.
+//Empieza en la hora de arranque para que los ETag de una ejecucion anterior no coincidan tras reiniciar.
+//Se llama despues de escribir y de descartar las lecturas compartidas, nunca antes: un ETag nuevo con un cuerpo antiguo
+//haria que el cliente recibiera 304 sobre datos obsoletos.
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis());
+    private final long initialVersion = counter.get();
+
+    private final Map<Long, Long> productVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> makerVersions = new ConcurrentHashMap<>();
+
+    // Cambios que afectan a todos los productos o a todos los makers (p. ej. el nombre del maker en cada producto)
+    private volatile long allProductsVersion = initialVersion;
+    private volatile long allMakersVersion = initialVersion;
+
+    private volatile long productListVersion = initialVersion;
+    private volatile long makerListVersion = initialVersion;
+
+    // Lecturas compartidas que dependen de la otra entidad; se descartan antes de publicar la nueva version
+    private final List<Runnable> productChangeListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> makerChangeListeners = new CopyOnWriteArrayList<>();
+
+    public void onProductChange(Runnable listener){
+        productChangeListeners.add(listener);
+    }
+
+    public void onMakerChange(Runnable listener){
+        makerChangeListeners.add(listener);
+    }
+
+    //producto creado, modificado o borrado; makerId null si no se conoce
+    public void productChanged(Long productId, Long makerId){
+        productChangeListeners.forEach(Runnable::run);
+        long version = counter.incrementAndGet();
+        if (productId != null){
+            productVersions.put(productId, version);
+        }
+        if (makerId != null){
+            makerVersions.put(makerId, version);
+        } else {
+            allMakersVersion = version;
+        }
+        productListVersion = version;
+        makerListVersion = version;
+    }
+
+    //varios productos cambiados de una vez (operaciones masivas): una sola version para todos
+    public void productsChanged(Collection<Long> productIds){
+        productChangeListeners.forEach(Runnable::run);
+        long version = counter.incrementAndGet();
+        for (Long productId : productIds){
+            productVersions.put(productId, version);
+        }
+        allMakersVersion = version;
+        productListVersion = version;
+        makerListVersion = version;
+    }
+
+    //maker creado, modificado o borrado (el borrado arrastra sus productos)
+    public void makerChanged(Long makerId){
+        makerChangeListeners.forEach(Runnable::run);
+        long version = counter.incrementAndGet();
+        if (makerId != null){
+            makerVersions.put(makerId, version);
+        }
+        allProductsVersion = version;
+        productListVersion = version;
+        makerListVersion = version;
+    }
+
+    public void makersChanged(Collection<Long> makerIds){
+        makerChangeListeners.forEach(Runnable::run);
+        long version = counter.incrementAndGet();
+        for (Long makerId : makerIds){
+            makerVersions.put(makerId, version);
+        }
+        allProductsVersion = version;
+        productListVersion = version;
+        makerListVersion = version;
+    }
+
+    public String productTag(long id){
+        return tag("p" + id, Math.max(productVersions.getOrDefault(id, initialVersion), allProductsVersion));
+    }
+
+    public String productSliceTag(long afterId, int limit){
+        return tag("ps" + afterId + "-" + limit, productListVersion);
+    }
+
+    public String makerTag(long id){
+        return tag("m" + id, Math.max(makerVersions.getOrDefault(id, initialVersion), allMakersVersion));
+    }
+
+    public String makerSliceTag(String kind, long afterId, int limit){
+        return tag(kind + afterId + "-" + limit, makerListVersion);
+    }
+
+    private static String tag(String resource, long version){
+        return "\"" + resource + "-" + Long.toString(version, 36) + "\"";
+    }
+}
@@ -1,6 +1,9 @@
 package com.project.service;
 
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
+import com.project.models.projection.MakerView;
+import com.project.service.bulk.BulkReport;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,7 +11,13 @@ import java.util.Optional;
 public interface IMakerService {
 
     Optional<Maker> findById(Long id);
+    Optional<MakerView> findWithProducts(Long id);
     List<Maker> findAll();
+    List<MakerView> findSlice(long afterId, int limit);
+    List<MakerSummary> findSummarySlice(long afterId, int limit);
     void save(Maker maker);
+    PatchResult patch(long id, long version, String name);
     void deleteById(Long id);
+    BulkReport upsertMakers(List<Maker> makers);
+    BulkReport deleteMakers(List<Long> ids);
 }
@@ -1,16 +1,33 @@
 package com.project.service;
 
 import com.project.models.Product;
+import com.project.models.projection.PriceHistogram;
+import com.project.models.projection.ProductView;
+import com.project.service.PatchResult;
+import com.project.service.bulk.BulkReport;
+import com.project.service.bulk.ProductImportRow;
 
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IProductService {
 
     List<Product> findAll();
+    List<ProductView> findViewSlice(long afterId, int limit);
+    Optional<ProductView> findViewById(long id);
+    void exportAll(Consumer<Product> consumer);
     Optional<Product> findById(long id);
     List<Product> findByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice);
+    List<ProductView> findViewsByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit);
+    PriceHistogram priceHistogram(BigDecimal minPrice, BigDecimal maxPrice, int buckets);
+    Optional<List<ProductView>> search(String query, int limit);
     void save(Product product);
+    PatchResult patch(long id, long version, String name, BigDecimal price, Long makerId);
+    BulkReport importProducts(Iterator<ProductImportRow> rows);
+    BulkReport upsertProducts(List<Product> products);
+    BulkReport deleteProducts(List<Long> ids);
     void deleteById(Long id);
 }
@@ -0,0 +1,10 @@
+package com.project.service;
+
+//Resultado de una actualizacion parcial condicionada a la version
+public enum PatchResult {
+    UPDATED,
+    NOT_FOUND,
+    // La version enviada ya no es la actual: otro cliente modifico el registro
+    CONFLICT,
+    INVALID_MAKER
+}
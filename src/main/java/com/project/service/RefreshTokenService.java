@@ -0,0 +1,96 @@
+package com.project.service;
+
+import com.project.models.RefreshToken;
+import com.project.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+//Refresh tokens opacos de larga duracion: renovar el acceso es una busqueda indexada, sin BCrypt
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    public record RotatedToken(String username, String refreshToken) {
+    }
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh.expiration}")
+    private long refreshExpiration;
+
+    //emitir un refresh token para un login nuevo
+    @Transactional
+    public String issue(String username){
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    //canjear un refresh token por uno nuevo de la misma familia; vacio si no es valido o ya se habia usado
+    @Transactional
+    public Optional<RotatedToken> rotate(String rawToken){
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (stored.isEmpty()){
+            return Optional.empty();
+        }
+        RefreshToken refreshToken = stored.get();
+        if (refreshToken.isRevoked() || refreshToken.getExpiresAt() <= System.currentTimeMillis()){
+            return Optional.empty();
+        }
+        if (refreshToken.isUsed() || refreshToken.getId() == null || refreshTokenRepository.markUsed(refreshToken.getId()) == 0){
+            // Un token ya rotado que vuelve a aparecer indica robo: se invalida toda la familia
+            log.warn("Reutilizacion de refresh token detectada para el usuario {}", refreshToken.getUsername());
+            refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            return Optional.empty();
+        }
+        String next = issue(refreshToken.getUsername(), refreshToken.getFamilyId());
+        return Optional.of(new RotatedToken(refreshToken.getUsername(), next));
+    }
+
+    @Transactional
+    public void revokeAll(String username){
+        refreshTokenRepository.deleteByUsername(username);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval}")
+    @Transactional
+    public void purgeExpired(){
+        refreshTokenRepository.deleteExpired(System.currentTimeMillis());
+    }
+
+    private String issue(String username, String familyId){
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .username(username)
+                .familyId(familyId)
+                .expiresAt(System.currentTimeMillis() + refreshExpiration)
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,7 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -36,4 +37,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 true,
                 true,authorities);
     }
+
+    //rehash tras un login correcto cuando el hash guardado usa un coste o algoritmo anterior
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity userEntity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow( () -> new UsernameNotFoundException("El usuario" + user.getUsername() + " no existe."));
+        userEntity.setPassword(newPassword);
+        userRepository.save(userEntity);
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 }
@@ -0,0 +1,48 @@
+package com.project.service.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Resultado de una operacion masiva: totales y los errores por fila (como mucho maxErrors)
+public record BulkReport(long received, long succeeded, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+    public record RowError(long row, String message) {
+    }
+
+    //acumulador mientras se procesan las filas
+    public static class Collector {
+
+        private final int maxErrors;
+        private final List<RowError> errors = new ArrayList<>();
+        private long received;
+        private long succeeded;
+        private long failed;
+
+        public Collector(int maxErrors){
+            this.maxErrors = maxErrors;
+        }
+
+        public void received(){
+            received++;
+        }
+
+        public void succeeded(long count){
+            succeeded += count;
+        }
+
+        public void failed(long row, String message){
+            failed++;
+            if (errors.size() < maxErrors){
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        public long getSucceeded(){
+            return succeeded;
+        }
+
+        public BulkReport build(){
+            return new BulkReport(received, succeeded, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
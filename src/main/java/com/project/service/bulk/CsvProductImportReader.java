@@ -0,0 +1,114 @@
+package com.project.service.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+//Lee un CSV "name,price,makerId" linea a linea. La cabecera es opcional y los campos pueden ir entre comillas.
+public class CsvProductImportReader implements Iterator<ProductImportRow> {
+
+    private final BufferedReader reader;
+    private ProductImportRow next;
+    private boolean finished;
+    private long line;
+
+    public CsvProductImportReader(InputStream inputStream, Charset charset){
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+    }
+
+    @Override
+    public boolean hasNext(){
+        if (next == null && !finished){
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next(){
+        if (!hasNext()){
+            throw new NoSuchElementException();
+        }
+        ProductImportRow current = next;
+        next = null;
+        return current;
+    }
+
+    private ProductImportRow readNext(){
+        try {
+            String text;
+            while ((text = reader.readLine()) != null){
+                line++;
+                if (text.isBlank() || (line == 1 && text.trim().toLowerCase().startsWith("name"))){
+                    continue;
+                }
+                return toRow(text);
+            }
+            finished = true;
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductImportRow toRow(String text){
+        List<String> fields = split(text);
+        if (fields == null){
+            return ProductImportRow.invalid(line, "Comillas sin cerrar");
+        }
+        if (fields.size() != 3){
+            return ProductImportRow.invalid(line, "Se esperaban 3 columnas: name,price,makerId");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(fields.get(1).trim());
+        } catch (NumberFormatException e) {
+            return ProductImportRow.invalid(line, "'price' no es un numero");
+        }
+        try {
+            return new ProductImportRow(line, fields.get(0), price, Long.parseLong(fields.get(2).trim()), null);
+        } catch (NumberFormatException e) {
+            return ProductImportRow.invalid(line, "'makerId' no es un numero");
+        }
+    }
+
+    //separar por comas respetando las comillas ("" dentro de un campo es una comilla); null si no se cierran
+    private static List<String> split(String text){
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++){
+            char c = text.charAt(i);
+            if (quoted){
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"'){
+                    field.append('"');
+                    i++;
+                } else if (c == '"'){
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"'){
+                quoted = true;
+            } else if (c == ','){
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted){
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
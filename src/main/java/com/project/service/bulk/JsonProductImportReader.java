@@ -0,0 +1,99 @@
+package com.project.service.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//Lee un array JSON de productos {"name", "price", "makerId"} elemento a elemento, sin cargarlo entero en memoria.
+//Si el JSON esta mal formado se devuelve una ultima fila con el error y la lectura termina.
+public class JsonProductImportReader implements Iterator<ProductImportRow> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private ProductImportRow next;
+    private boolean finished;
+    private long row;
+
+    public JsonProductImportReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        JsonToken first;
+        try {
+            first = parser.nextToken();
+        } catch (JsonProcessingException e) {
+            first = null;
+        }
+        if (first != JsonToken.START_ARRAY){
+            throw new IllegalArgumentException("Se esperaba un array JSON de productos");
+        }
+    }
+
+    @Override
+    public boolean hasNext(){
+        if (next == null && !finished){
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next(){
+        if (!hasNext()){
+            throw new NoSuchElementException();
+        }
+        ProductImportRow current = next;
+        next = null;
+        return current;
+    }
+
+    private ProductImportRow readNext(){
+        try {
+            row++;
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY){
+                finished = true;
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT){
+                parser.skipChildren();
+                return ProductImportRow.invalid(row, "Se esperaba un objeto JSON");
+            }
+            return toRow(objectMapper.readTree(parser));
+        } catch (JsonProcessingException e) {
+            finished = true;
+            return ProductImportRow.invalid(row, "JSON mal formado: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductImportRow toRow(JsonNode node){
+        JsonNode name = node.get("name");
+        JsonNode price = node.get("price");
+        JsonNode makerId = node.get("makerId");
+        if (name == null || !name.isTextual()){
+            return ProductImportRow.invalid(row, "'name' es obligatorio");
+        }
+        if (price == null || !(price.isNumber() || price.isTextual())){
+            return ProductImportRow.invalid(row, "'price' es obligatorio");
+        }
+        if (makerId == null || !makerId.canConvertToLong()){
+            return ProductImportRow.invalid(row, "'makerId' es obligatorio");
+        }
+        try {
+            BigDecimal value = price.isNumber() ? price.decimalValue() : new BigDecimal(price.asText().trim());
+            return new ProductImportRow(row, name.asText(), value, makerId.asLong(), null);
+        } catch (NumberFormatException e) {
+            return ProductImportRow.invalid(row, "'price' no es un numero");
+        }
+    }
+}
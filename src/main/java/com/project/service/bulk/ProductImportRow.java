@@ -0,0 +1,11 @@
+package com.project.service.bulk;
+
+import java.math.BigDecimal;
+
+//Una fila de la importacion masiva; error != null si no se pudo leer
+public record ProductImportRow(long row, String name, BigDecimal price, Long makerId, String error) {
+
+    public static ProductImportRow invalid(long row, String error){
+        return new ProductImportRow(row, null, null, null, error);
+    }
+}
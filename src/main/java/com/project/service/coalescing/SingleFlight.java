@@ -0,0 +1,77 @@
+package com.project.service.coalescing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+//Agrupa las lecturas concurrentes de una misma clave: solo el primer hilo consulta la base de datos
+//y el resto espera su resultado. El resultado se sigue compartiendo durante holdWindow ms.
+//Los valores se comparten entre hilos, asi que deben tratarse como de solo lectura.
+public class SingleFlight<K, V> {
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+    }
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long holdWindow;
+
+    public SingleFlight(long holdWindow){
+        this.holdWindow = holdWindow;
+    }
+
+    public V load(K key, Supplier<V> loader){
+        Flight<V> flight = new Flight<>();
+        Flight<V> current = flights.putIfAbsent(key, flight);
+        if (current != null){
+            return await(current);
+        }
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Tambien los Error: si el futuro no se completa, los hilos que esperan en join() se quedan bloqueados.
+            // Un error no se comparte durante la ventana: la siguiente peticion vuelve a intentarlo
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            release(key, flight);
+        }
+    }
+
+    //descartar la lectura en curso o retenida de una clave tras modificarla
+    public void invalidate(K key){
+        flights.remove(key);
+    }
+
+    public void invalidateAll(){
+        flights.clear();
+    }
+
+    private void release(K key, Flight<V> flight){
+        if (holdWindow <= 0){
+            flights.remove(key, flight);
+        } else {
+            CompletableFuture.delayedExecutor(holdWindow, TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+    }
+
+    private V await(Flight<V> flight){
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
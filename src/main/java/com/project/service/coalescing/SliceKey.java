@@ -0,0 +1,5 @@
+package com.project.service.coalescing;
+
+//clave de una pagina por cursor: (ultimo id visto, tamaño de pagina)
+public record SliceKey(long afterId, int limit) {
+}
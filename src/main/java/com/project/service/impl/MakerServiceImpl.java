@@ -1,14 +1,32 @@
 package com.project.service.impl;
 
 import com.project.models.Maker;
+import com.project.models.projection.MakerSummary;
+import com.project.models.projection.MakerView;
+import com.project.models.projection.ProductView;
 import com.project.persistence.IMakerDAO;
 import com.project.persistence.IProductDAO;
+import com.project.service.CatalogVersion;
+import com.project.service.PatchResult;
 import com.project.service.IMakerService;
+import com.project.service.bulk.BulkReport;
+import com.project.service.coalescing.SingleFlight;
+import com.project.service.coalescing.SliceKey;
+import com.project.service.index.ProductPriceIndex;
+import com.project.service.index.ProductSearchIndex;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class MakerServiceImpl implements IMakerService {
@@ -16,23 +34,220 @@ public class MakerServiceImpl implements IMakerService {
     @Autowired
     private IMakerDAO makerDAO;
 
+    @Autowired
+    private IProductDAO productDAO;
+
+    @Autowired
+    private ProductPriceIndex priceIndex;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${catalog.bulk.chunk-size}")
+    private int bulkChunkSize;
+
+    @Value("${catalog.bulk.max-errors}")
+    private int bulkMaxErrors;
+
+    @Value("${catalog.single-flight.hold-window}")
+    private long singleFlightHoldWindow;
+
+    // Lecturas concurrentes iguales comparten una sola consulta; se comparten vistas inmutables, nunca entidades gestionadas
+    private SingleFlight<Long, Optional<MakerView>> makerFlights;
+    private SingleFlight<SliceKey, List<MakerView>> sliceFlights;
+    private SingleFlight<SliceKey, List<MakerSummary>> summaryFlights;
+
+    @PostConstruct
+    void init() {
+        this.makerFlights = new SingleFlight<>(singleFlightHoldWindow);
+        this.sliceFlights = new SingleFlight<>(singleFlightHoldWindow);
+        this.summaryFlights = new SingleFlight<>(singleFlightHoldWindow);
+        // Los makers llevan sus productos y el resumen los cuenta: un cambio de productos descarta las lecturas compartidas
+        catalogVersion.onProductChange(() -> {
+            makerFlights.invalidateAll();
+            sliceFlights.invalidateAll();
+            summaryFlights.invalidateAll();
+        });
+    }
+
     @Override
     public Optional<Maker> findById(Long id) {
         return makerDAO.findById(id);
     }
 
+    @Override
+    public Optional<MakerView> findWithProducts(Long id) {
+        return makerFlights.load(id, () -> makerDAO.findWithProducts(id).map(MakerServiceImpl::toView));
+    }
+
     @Override
     public List<Maker> findAll() {
         return makerDAO.findAll();
     }
 
+    @Override
+    public List<MakerView> findSlice(long afterId, int limit) {
+        return sliceFlights.load(new SliceKey(afterId, limit),
+                () -> makerDAO.findSlice(afterId, limit).stream().map(MakerServiceImpl::toView).toList());
+    }
+
+    @Override
+    public List<MakerSummary> findSummarySlice(long afterId, int limit) {
+        return summaryFlights.load(new SliceKey(afterId, limit), () -> List.copyOf(makerDAO.findSummarySlice(afterId, limit)));
+    }
+
     @Override
     public void save(Maker maker) {
         makerDAO.save(maker);
+        // La version se publica al final: quien vea el ETag nuevo ya no puede unirse a una lectura anterior a la escritura
+        invalidateFlights(maker.getId());
+        catalogVersion.makerChanged(maker.getId());
+    }
+
+    @Override
+    public PatchResult patch(long id, long version, String name) {
+        if (makerDAO.patch(id, version, name) == 0) {
+            return makerDAO.existsById(id) ? PatchResult.CONFLICT : PatchResult.NOT_FOUND;
+        }
+        invalidateFlights(id);
+        catalogVersion.makerChanged(id);
+        return PatchResult.UPDATED;
     }
 
     @Override
     public void deleteById(Long id) {
         makerDAO.deleteById(id);
+        invalidateFlights(id);
+        // Los productos del maker se borran en cascada: los indices se reconstruyen
+        rebuildProductIndexes();
+        catalogVersion.makerChanged(id);
+    }
+
+    //actualizacion masiva: makers con id se actualizan y los que no tienen id se insertan, ambos con lotes JDBC
+    @Override
+    public BulkReport upsertMakers(List<Maker> makers) {
+        BulkReport.Collector report = new BulkReport.Collector(bulkMaxErrors);
+        List<Long> changedIds = new ArrayList<>();
+        for (int from = 0; from < makers.size(); from += bulkChunkSize) {
+            List<Maker> chunk = makers.subList(from, Math.min(from + bulkChunkSize, makers.size()));
+            List<Maker> updates = new ArrayList<>();
+            List<Integer> updateRows = new ArrayList<>();
+            List<Maker> inserts = new ArrayList<>();
+            List<Integer> insertRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Maker maker = chunk.get(i);
+                int row = from + i + 1;
+                report.received();
+                if (maker.getName() == null || maker.getName().isBlank()) {
+                    report.failed(row, "'name' es obligatorio");
+                } else if (maker.getName().length() > 255) {
+                    report.failed(row, "'name' supera los 255 caracteres");
+                } else if (maker.getId() != null) {
+                    updates.add(maker);
+                    updateRows.add(row);
+                } else {
+                    inserts.add(maker);
+                    insertRows.add(row);
+                }
+            }
+            try {
+                if (!updates.isEmpty()) {
+                    int[] counts = makerDAO.updateAll(updates);
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            report.failed(updateRows.get(i), "No existe el maker " + updates.get(i).getId());
+                        } else {
+                            report.succeeded(1);
+                            changedIds.add(updates.get(i).getId());
+                        }
+                    }
+                }
+            } catch (DataAccessException e) {
+                updateRows.forEach(row -> report.failed(row, e.getMostSpecificCause().getMessage()));
+            }
+            try {
+                if (!inserts.isEmpty()) {
+                    makerDAO.insertAll(inserts);
+                    report.succeeded(inserts.size());
+                }
+            } catch (DataAccessException e) {
+                insertRows.forEach(row -> report.failed(row, e.getMostSpecificCause().getMessage()));
+            }
+        }
+        if (report.getSucceeded() > 0) {
+            afterBulkChange(changedIds, false);
+        }
+        return report.build();
+    }
+
+    //borrado masivo: los productos de los makers y los makers, con DELETE ... WHERE IN por bloques
+    @Override
+    public BulkReport deleteMakers(List<Long> ids) {
+        BulkReport.Collector report = new BulkReport.Collector(bulkMaxErrors);
+        List<Long> deletedIds = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+            Set<Long> existing = makerDAO.findExistingIds(chunk.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+            List<Long> toDelete = new ArrayList<>(existing.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                report.received();
+                if (id == null || !seen.add(id)) {
+                    report.failed(from + i + 1, id == null ? "'id' es obligatorio" : "Id repetido " + id);
+                } else if (!existing.contains(id)) {
+                    report.failed(from + i + 1, "No existe el maker " + id);
+                } else {
+                    toDelete.add(id);
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                report.succeeded(makerDAO.deleteAllById(toDelete));
+                deletedIds.addAll(toDelete);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            afterBulkChange(deletedIds, true);
+        }
+        return report.build();
+    }
+
+    private void afterBulkChange(List<Long> changedIds, boolean productsDeleted) {
+        makerFlights.invalidateAll();
+        sliceFlights.invalidateAll();
+        summaryFlights.invalidateAll();
+        if (productsDeleted) {
+            rebuildProductIndexes();
+        }
+        catalogVersion.makersChanged(changedIds);
+    }
+
+    private void rebuildProductIndexes() {
+        if (priceIndex.isEnabled()) {
+            priceIndex.rebuild(productDAO::findAllPrices);
+        }
+        if (searchIndex.isEnabled()) {
+            searchIndex.rebuild(productDAO::findAllNames);
+        }
+    }
+
+    //se copia en el hilo que hizo la consulta, con los productos ya cargados, antes de compartirlo
+    private static MakerView toView(Maker maker) {
+        List<ProductView> products = maker.getProductList().stream()
+                .map(product -> new ProductView(product.getId(), product.getName(), product.getPrice(),
+                        maker.getId(), maker.getName(), product.getVersion()))
+                .toList();
+        return new MakerView(maker.getId(), maker.getName(), products, maker.getVersion());
+    }
+
+    private void invalidateFlights(Long id) {
+        if (id != null) {
+            makerFlights.invalidate(id);
+        }
+        sliceFlights.invalidateAll();
+        summaryFlights.invalidateAll();
     }
 }
@@ -1,15 +1,42 @@
 package com.project.service.impl;
 
 
+import com.project.models.Maker;
 import com.project.models.Product;
+import com.project.models.projection.PriceHistogram;
+import com.project.models.projection.ProductView;
+import com.project.persistence.IMakerDAO;
 import com.project.persistence.IProductDAO;
+import com.project.service.CatalogVersion;
+import com.project.service.PatchResult;
 import com.project.service.IProductService;
+import com.project.service.bulk.BulkReport;
+import com.project.service.bulk.ProductImportRow;
+import com.project.service.coalescing.SingleFlight;
+import com.project.service.coalescing.SliceKey;
+import com.project.service.index.ProductPriceIndex;
+import com.project.service.index.ProductSearchIndex;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class ProductServiceImpl  implements IProductService {
@@ -17,11 +44,76 @@ public class ProductServiceImpl  implements IProductService {
     @Autowired
     private IProductDAO productDAO;
 
+    @Autowired
+    private IMakerDAO makerDAO;
+
+    @Autowired
+    private ProductPriceIndex priceIndex;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${product.export.fetch-size}")
+    private int exportFetchSize;
+
+    @Value("${catalog.bulk.chunk-size}")
+    private int bulkChunkSize;
+
+    @Value("${catalog.bulk.max-errors}")
+    private int bulkMaxErrors;
+
+    @Value("${catalog.single-flight.hold-window}")
+    private long singleFlightHoldWindow;
+
+    // Lecturas concurrentes iguales comparten una sola consulta
+    private SingleFlight<Long, Optional<ProductView>> viewFlights;
+    private SingleFlight<SliceKey, List<ProductView>> sliceFlights;
+
+    @PostConstruct
+    void init() {
+        this.viewFlights = new SingleFlight<>(singleFlightHoldWindow);
+        this.sliceFlights = new SingleFlight<>(singleFlightHoldWindow);
+        // Las vistas llevan el nombre del maker: un cambio de makers descarta las lecturas compartidas
+        catalogVersion.onMakerChange(() -> {
+            viewFlights.invalidateAll();
+            sliceFlights.invalidateAll();
+        });
+    }
+
+    //los indices se construyen cuando la base de datos ya tiene los datos iniciales
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        if (priceIndex.isEnabled()) {
+            priceIndex.rebuild(productDAO::findAllPrices);
+        }
+        if (searchIndex.isEnabled()) {
+            searchIndex.rebuild(productDAO::findAllNames);
+        }
+    }
+
     @Override
     public List<Product> findAll() {
         return productDAO.findAll();
     }
 
+    @Override
+    public List<ProductView> findViewSlice(long afterId, int limit) {
+        return sliceFlights.load(new SliceKey(afterId, limit), () -> List.copyOf(productDAO.findViewSlice(afterId, limit)));
+    }
+
+    @Override
+    public Optional<ProductView> findViewById(long id) {
+        return viewFlights.load(id, () -> productDAO.findViewById(id));
+    }
+
+    @Override
+    public void exportAll(Consumer<Product> consumer) {
+        productDAO.forEachProduct(exportFetchSize, consumer);
+    }
+
     @Override
     public Optional<Product> findById(long id) {
         return productDAO.findById(id);
@@ -29,16 +121,293 @@ public class ProductServiceImpl  implements IProductService {
 
     @Override
     public List<Product> findByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (priceIndex.isReady()) {
+            return productDAO.findAllByIds(priceIndex.findIdsInRange(minPrice, maxPrice));
+        }
         return productDAO.findByPriceInRange(minPrice,maxPrice);
     }
 
+    @Override
+    public List<ProductView> findViewsByPriceInRange(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit) {
+        if (priceIndex.isReady()) {
+            return productDAO.findViewsByIds(priceIndex.findIdsInRange(minPrice, maxPrice, descending, limit));
+        }
+        return productDAO.findViewsByPriceInRange(minPrice, maxPrice, descending, limit);
+    }
+
+    @Override
+    public PriceHistogram priceHistogram(BigDecimal minPrice, BigDecimal maxPrice, int buckets) {
+        BigDecimal bucketWidth = maxPrice.subtract(minPrice).divide(BigDecimal.valueOf(buckets), MathContext.DECIMAL64);
+        if (bucketWidth.signum() == 0) {
+            // Rango de un solo precio: un unico intervalo de ancho 1 lo contiene
+            bucketWidth = BigDecimal.ONE;
+        }
+        long[] counts = priceIndex.isReady()
+                ? priceIndex.countByBucket(minPrice, maxPrice, bucketWidth, buckets)
+                : productDAO.countByPriceBucket(minPrice, maxPrice, bucketWidth, buckets);
+        return new PriceHistogram(minPrice, maxPrice, bucketWidth, counts);
+    }
+
+    //busqueda por nombre en el indice invertido; vacio si el indice no esta disponible
+    @Override
+    public Optional<List<ProductView>> search(String query, int limit) {
+        if (!searchIndex.isReady()) {
+            return Optional.empty();
+        }
+        long[] ids = searchIndex.search(query, limit);
+        return Optional.of(ids.length == 0 ? List.of() : productDAO.findViewsByIds(ids));
+    }
+
     @Override
     public void save(Product product) {
+        // Al actualizar, el maker anterior no se conoce: se invalidan todos los makers
+        Long makerId = product.getId() == null && product.getMaker() != null ? product.getMaker().getId() : null;
         productDAO.save(product);
+        priceIndex.upsert(product.getId(), product.getPrice());
+        searchIndex.upsert(product.getId(), product.getName());
+        viewFlights.invalidate(product.getId());
+        sliceFlights.invalidateAll();
+        // La version se publica al final: quien vea el ETag nuevo ya no puede unirse a una lectura anterior a la escritura
+        catalogVersion.productChanged(product.getId(), makerId);
+    }
+
+    //actualizacion parcial: una sola sentencia; solo si falla se consulta si el producto existe
+    @Override
+    public PatchResult patch(long id, long version, String name, BigDecimal price, Long makerId) {
+        int updated;
+        try {
+            updated = productDAO.patch(id, version, name, price, makerId);
+        } catch (DataIntegrityViolationException e) {
+            if (makerId != null && isForeignKeyViolation(e)) {
+                return PatchResult.INVALID_MAKER;
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            return productDAO.existsById(id) ? PatchResult.CONFLICT : PatchResult.NOT_FOUND;
+        }
+        if (price != null) {
+            priceIndex.upsert(id, price);
+        }
+        if (name != null) {
+            searchIndex.upsert(id, name);
+        }
+        viewFlights.invalidate(id);
+        sliceFlights.invalidateAll();
+        catalogVersion.productChanged(id, null);
+        return PatchResult.UPDATED;
+    }
+
+    //importacion masiva: cada bloque de bulkChunkSize filas validas se confirma en su propia transaccion
+    @Override
+    public BulkReport importProducts(Iterator<ProductImportRow> rows) {
+        BulkReport.Collector report = new BulkReport.Collector(bulkMaxErrors);
+        List<ProductImportRow> chunk = new ArrayList<>(bulkChunkSize);
+        while (rows.hasNext()) {
+            ProductImportRow row = rows.next();
+            report.received();
+            String error = row.error() != null ? row.error() : validate(row.name(), row.price(), row.makerId());
+            if (error != null) {
+                report.failed(row.row(), error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == bulkChunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        if (report.getSucceeded() > 0) {
+            afterBulkChange(List.of());
+        }
+        return report.build();
+    }
+
+    //actualizacion masiva: productos con id se actualizan con UPDATE por lotes JDBC y los que no tienen id se insertan
+    @Override
+    public BulkReport upsertProducts(List<Product> products) {
+        BulkReport.Collector report = new BulkReport.Collector(bulkMaxErrors);
+        List<Long> changedIds = new ArrayList<>();
+        for (int from = 0; from < products.size(); from += bulkChunkSize) {
+            upsertChunk(products.subList(from, Math.min(from + bulkChunkSize, products.size())), from, report, changedIds);
+        }
+        if (report.getSucceeded() > 0) {
+            afterBulkChange(changedIds);
+        }
+        return report.build();
+    }
+
+    private void upsertChunk(List<Product> chunk, int offset, BulkReport.Collector report, List<Long> changedIds) {
+        Set<Long> makerIds = makerDAO.findExistingIds(chunk.stream()
+                .map(product -> product.getMaker() == null ? null : product.getMaker().getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<Product> updates = new ArrayList<>();
+        List<Integer> updateRows = new ArrayList<>();
+        List<Product> inserts = new ArrayList<>();
+        List<Integer> insertRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = chunk.get(i);
+            int row = offset + i + 1;
+            report.received();
+            Long makerId = product.getMaker() == null ? null : product.getMaker().getId();
+            String error = validate(product.getName(), product.getPrice(), makerId);
+            if (error == null && !makerIds.contains(makerId)) {
+                error = "No existe el maker " + makerId;
+            }
+            if (error != null) {
+                report.failed(row, error);
+            } else if (product.getId() != null) {
+                updates.add(product);
+                updateRows.add(row);
+            } else {
+                inserts.add(product);
+                insertRows.add(row);
+            }
+        }
+        try {
+            if (!updates.isEmpty()) {
+                int[] counts = productDAO.updateAll(updates);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        report.failed(updateRows.get(i), "No existe el producto " + updates.get(i).getId());
+                    } else {
+                        report.succeeded(1);
+                        changedIds.add(updates.get(i).getId());
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            updateRows.forEach(row -> report.failed(row, e.getMostSpecificCause().getMessage()));
+        }
+        try {
+            if (!inserts.isEmpty()) {
+                productDAO.persistAll(inserts);
+                report.succeeded(inserts.size());
+            }
+        } catch (DataAccessException e) {
+            insertRows.forEach(row -> report.failed(row, e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    //borrado masivo con DELETE ... WHERE id IN por bloques
+    @Override
+    public BulkReport deleteProducts(List<Long> ids) {
+        BulkReport.Collector report = new BulkReport.Collector(bulkMaxErrors);
+        List<Long> deletedIds = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+            Set<Long> existing = productDAO.findExistingIds(chunk.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+            List<Long> toDelete = new ArrayList<>(existing.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                report.received();
+                if (id == null || !seen.add(id)) {
+                    report.failed(from + i + 1, id == null ? "'id' es obligatorio" : "Id repetido " + id);
+                } else if (!existing.contains(id)) {
+                    report.failed(from + i + 1, "No existe el producto " + id);
+                } else {
+                    toDelete.add(id);
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                report.succeeded(productDAO.deleteAllById(toDelete));
+                deletedIds.addAll(toDelete);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            afterBulkChange(deletedIds);
+        }
+        return report.build();
+    }
+
+    //tras una operacion masiva: un solo rebuild del indice (hacerlo fila a fila copiaria los arrays en cada producto)
+    private void afterBulkChange(List<Long> changedIds) {
+        viewFlights.invalidateAll();
+        sliceFlights.invalidateAll();
+        if (priceIndex.isEnabled()) {
+            priceIndex.rebuild(productDAO::findAllPrices);
+        }
+        if (searchIndex.isEnabled()) {
+            searchIndex.rebuild(productDAO::findAllNames);
+        }
+        catalogVersion.productsChanged(changedIds);
+    }
+
+    // Clave ajena sin fila padre: MySQL usa el SQLState generico 23000 con el codigo 1452; H2 usa 23506 y el estandar 23503
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && (sqlException.getErrorCode() == 1452
+                    || "23503".equals(sqlException.getSQLState()) || "23506".equals(sqlException.getSQLState()));
+    }
+
+    private static String validate(String name, BigDecimal price, Long makerId) {
+        if (name == null || name.isBlank()) {
+            return "'name' es obligatorio";
+        }
+        if (name.length() > 255) {
+            return "'name' supera los 255 caracteres";
+        }
+        if (price == null || price.signum() < 0) {
+            return "'price' debe ser mayor o igual que 0";
+        }
+        if (price.compareTo(ProductPriceIndex.MAX_PRICE) > 0) {
+            return "'price' supera el maximo de " + ProductPriceIndex.MAX_PRICE.toPlainString();
+        }
+        if (makerId == null) {
+            return "'makerId' es obligatorio";
+        }
+        return null;
+    }
+
+    private void importChunk(List<ProductImportRow> chunk, BulkReport.Collector report) {
+        Set<Long> makerIds = makerDAO.findExistingIds(chunk.stream().map(ProductImportRow::makerId).collect(Collectors.toSet()));
+        List<ProductImportRow> valid = new ArrayList<>(chunk.size());
+        for (ProductImportRow row : chunk) {
+            if (makerIds.contains(row.makerId())) {
+                valid.add(row);
+            } else {
+                report.failed(row.row(), "No existe el maker " + row.makerId());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            productDAO.persistAll(valid.stream().map(ProductServiceImpl::toProduct).toList());
+            report.succeeded(valid.size());
+        } catch (DataAccessException e) {
+            // El bloque se ha deshecho entero: se reintenta fila a fila para aislar las que fallan
+            for (ProductImportRow row : valid) {
+                try {
+                    productDAO.persistAll(List.of(toProduct(row)));
+                    report.succeeded(1);
+                } catch (DataAccessException rowError) {
+                    report.failed(row.row(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private static Product toProduct(ProductImportRow row) {
+        return Product.builder()
+                .name(row.name())
+                .price(row.price())
+                .maker(Maker.builder().id(row.makerId()).build())
+                .build();
     }
 
     @Override
     public void deleteById(Long id) {
         productDAO.deleteById(id);
+        priceIndex.remove(id);
+        searchIndex.remove(id);
+        viewFlights.invalidate(id);
+        sliceFlights.invalidateAll();
+        catalogVersion.productChanged(id, null);
     }
 }
@@ -0,0 +1,283 @@
+package com.project.service.index;
+
+import com.project.models.projection.ProductPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+//Indice de precios en memoria: arrays primitivos ordenados por (precio en centimos, id) y busqueda binaria.
+//Las lecturas usan una instantanea inmutable sin bloqueos; las escrituras la sustituyen bajo el monitor.
+@Component
+@Slf4j
+public class ProductPriceIndex {
+
+    // Mayor precio representable en centimos con un long; save, PUT, PATCH, bulk y /range no aceptan precios mayores
+    public static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    @Value("${product.price-index.enabled}")
+    private boolean enabled;
+
+    private record Snapshot(long[] cents, long[] ids) {
+    }
+
+    // Cada upsert o remove copia los dos arrays: O(n) por escritura, a cambio de lecturas sin bloqueos.
+    // Pensado para un catalogo que se lee mucho mas de lo que se escribe; las operaciones masivas usan rebuild
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new long[0]);
+    private volatile boolean ready;
+
+    // Solo para los escritores: precio actual de cada id, para localizar su entrada al actualizar o borrar
+    private final Map<Long, Long> centsById = new HashMap<>();
+
+    // Escrituras recibidas mientras un rebuild lee de la base de datos (null = borrado); se aplican sobre su resultado
+    private Map<Long, BigDecimal> pendingWrites;
+    private final Object rebuildLock = new Object();
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    //el indice solo responde consultas cuando esta activado y ya se ha construido
+    public boolean isReady(){
+        return enabled && ready;
+    }
+
+    public int size(){
+        return snapshot.ids().length;
+    }
+
+    //sustituir el contenido completo del indice; la lectura se hace fuera del monitor para no bloquear a los escritores
+    public void rebuild(Supplier<List<ProductPrice>> loader){
+        if (!enabled){
+            return;
+        }
+        synchronized (rebuildLock){
+            synchronized (this){
+                pendingWrites = new HashMap<>();
+            }
+            List<ProductPrice> prices;
+            try {
+                prices = loader.get();
+            } catch (RuntimeException e) {
+                synchronized (this){
+                    pendingWrites = null;
+                }
+                throw e;
+            }
+            synchronized (this){
+                replace(prices);
+                Map<Long, BigDecimal> writes = pendingWrites;
+                pendingWrites = null;
+                writes.forEach(this::apply);
+                ready = true;
+            }
+        }
+    }
+
+    private void replace(List<ProductPrice> prices){
+        long[][] entries = new long[prices.size()][];
+        int count = 0;
+        centsById.clear();
+        for (ProductPrice price : prices){
+            if (price.price() == null){
+                continue;
+            }
+            long cents = toCents(price.price());
+            entries[count++] = new long[]{cents, price.id()};
+            centsById.put(price.id(), cents);
+        }
+        Arrays.sort(entries, 0, count, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] cents = new long[count];
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++){
+            cents[i] = entries[i][0];
+            ids[i] = entries[i][1];
+        }
+        snapshot = new Snapshot(cents, ids);
+        log.info("Indice de precios construido con {} productos", count);
+    }
+
+    public synchronized void upsert(long id, BigDecimal price){
+        if (!enabled){
+            return;
+        }
+        if (pendingWrites != null){
+            pendingWrites.put(id, price);
+        }
+        apply(id, price);
+    }
+
+    public synchronized void remove(long id){
+        if (!enabled){
+            return;
+        }
+        if (pendingWrites != null){
+            pendingWrites.put(id, null);
+        }
+        snapshot = removeEntry(snapshot, id);
+    }
+
+    // price null borra la entrada
+    private void apply(long id, BigDecimal price){
+        Snapshot current = removeEntry(snapshot, id);
+        if (price == null){
+            snapshot = current;
+            return;
+        }
+        long cents = toCents(price);
+        int position = -(search(current.cents(), current.ids(), cents, id) + 1);
+        snapshot = new Snapshot(insert(current.cents(), position, cents), insert(current.ids(), position, id));
+        centsById.put(id, cents);
+    }
+
+    //ids con precio en [min, max], ordenados por precio
+    public long[] findIdsInRange(BigDecimal minPrice, BigDecimal maxPrice){
+        Snapshot current = snapshot;
+        int from = lowerBound(current.cents(), ceilCents(minPrice));
+        int to = upperBound(current.cents(), floorCents(maxPrice));
+        return from >= to ? new long[0] : Arrays.copyOfRange(current.ids(), from, to);
+    }
+
+    //como findIdsInRange, pero solo los 'limit' primeros en el orden pedido
+    public long[] findIdsInRange(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit){
+        Snapshot current = snapshot;
+        int from = lowerBound(current.cents(), ceilCents(minPrice));
+        int to = upperBound(current.cents(), floorCents(maxPrice));
+        if (from >= to){
+            return new long[0];
+        }
+        if (!descending){
+            return Arrays.copyOfRange(current.ids(), from, Math.min(to, from + limit));
+        }
+        int count = Math.min(limit, to - from);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++){
+            ids[i] = current.ids()[to - 1 - i];
+        }
+        return ids;
+    }
+
+    //cuantos precios caen en cada intervalo [min + i*ancho, min + (i+1)*ancho); el ultimo incluye el maximo
+    public long[] countByBucket(BigDecimal minPrice, BigDecimal maxPrice, BigDecimal bucketWidth, int buckets){
+        Snapshot current = snapshot;
+        long[] counts = new long[buckets];
+        int start = lowerBound(current.cents(), ceilCents(minPrice));
+        for (int i = 0; i < buckets; i++){
+            int end = i == buckets - 1
+                    ? upperBound(current.cents(), floorCents(maxPrice))
+                    : lowerBound(current.cents(), ceilCents(minPrice.add(bucketWidth.multiply(BigDecimal.valueOf(i + 1)))));
+            counts[i] = Math.max(0, end - start);
+            start = Math.max(start, end);
+        }
+        return counts;
+    }
+
+    private Snapshot removeEntry(Snapshot current, long id){
+        Long cents = centsById.remove(id);
+        if (cents == null){
+            return current;
+        }
+        int position = search(current.cents(), current.ids(), cents, id);
+        if (position < 0){
+            return current;
+        }
+        return new Snapshot(delete(current.cents(), position), delete(current.ids(), position));
+    }
+
+    private static long toCents(BigDecimal price){
+        return toCents(price, RoundingMode.HALF_UP);
+    }
+
+    private static long ceilCents(BigDecimal price){
+        return toCents(price, RoundingMode.CEILING);
+    }
+
+    private static long floorCents(BigDecimal price){
+        return toCents(price, RoundingMode.FLOOR);
+    }
+
+    // Satura fuera del rango de long: una fila antigua o un limite de consulta enorme no puede romper el indice
+    private static long toCents(BigDecimal price, RoundingMode mode){
+        BigDecimal cents = price.movePointRight(2).setScale(0, mode);
+        if (cents.compareTo(MAX_CENTS) > 0){
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) < 0){
+            return Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    // Busqueda binaria por (centimos, id); negativo (-(insercion) - 1) si no esta
+    private static int search(long[] cents, long[] ids, long targetCents, long targetId){
+        int low = 0;
+        int high = cents.length - 1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            int cmp = cents[mid] != targetCents ? Long.compare(cents[mid], targetCents) : Long.compare(ids[mid], targetId);
+            if (cmp < 0){
+                low = mid + 1;
+            } else if (cmp > 0){
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // Primera posicion con valor >= target
+    private static int lowerBound(long[] values, long target){
+        int low = 0;
+        int high = values.length;
+        while (low < high){
+            int mid = (low + high) >>> 1;
+            if (values[mid] < target){
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Primera posicion con valor > target
+    private static int upperBound(long[] values, long target){
+        int low = 0;
+        int high = values.length;
+        while (low < high){
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= target){
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int position, long value){
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] values, int position){
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,349 @@
+package com.project.service.index;
+
+import com.project.models.projection.ProductName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+//Indice invertido en memoria sobre el nombre de los productos: termino -> lista de documentos (int[] ordenado).
+//Cada producto es un documento con un id interno denso; al cambiar de nombre se marca el documento viejo como
+//borrado y se añade uno nuevo, asi las listas siempre crecen por el final y siguen ordenadas.
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MERGE_MAX_POSTINGS = 4096;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    @Value("${product.search.enabled}")
+    private boolean enabled;
+
+    // Maximo de terminos en que se expande un prefijo (p. ej. "por" -> portatil, portable...)
+    @Value("${product.search.max-prefix-terms}")
+    private int maxPrefixTerms;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, IntList> postings = new TreeMap<>();
+    private final Map<Long, Integer> documentByProductId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] productIds = new long[1024];
+    private int documents;
+    private int deletedDocuments;
+    private volatile boolean ready;
+
+    // Escrituras recibidas mientras un rebuild lee de la base de datos (null = borrado); se aplican sobre su resultado
+    private Map<Long, String> pendingWrites;
+    private final Object rebuildLock = new Object();
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    public boolean isReady(){
+        return enabled && ready;
+    }
+
+    //la lectura de la base de datos se hace fuera del bloqueo: las escrituras que lleguen mientras tanto se guardan y se repiten
+    public void rebuild(Supplier<List<ProductName>> loader){
+        if (!enabled){
+            return;
+        }
+        synchronized (rebuildLock){
+            setPendingWrites(new HashMap<>());
+            List<ProductName> products;
+            try {
+                products = loader.get();
+            } catch (RuntimeException e) {
+                setPendingWrites(null);
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                replace(products);
+                Map<Long, String> writes = pendingWrites;
+                pendingWrites = null;
+                writes.forEach((productId, name) -> {
+                    delete(productId);
+                    if (name != null){
+                        add(productId, name);
+                    }
+                });
+                ready = true;
+                log.info("Indice de busqueda construido con {} productos y {} terminos", products.size(), postings.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void setPendingWrites(Map<Long, String> writes){
+        lock.writeLock().lock();
+        try {
+            pendingWrites = writes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(List<ProductName> products){
+        postings.clear();
+        documentByProductId.clear();
+        deleted.clear();
+        productIds = new long[Math.max(1024, products.size())];
+        documents = 0;
+        deletedDocuments = 0;
+        for (ProductName product : products){
+            add(product.id(), product.name());
+        }
+    }
+
+    public void upsert(long productId, String name){
+        if (!enabled){
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null){
+                pendingWrites.put(productId, name);
+            }
+            delete(productId);
+            add(productId, name);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId){
+        if (!enabled){
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null){
+                pendingWrites.put(productId, null);
+            }
+            delete(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //ids de los productos cuyo nombre contiene todas las palabras de la consulta; cada palabra vale tambien como prefijo
+    public long[] search(String query, int limit){
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()){
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = new Cursor[tokens.size()];
+            for (int i = 0; i < cursors.length; i++){
+                cursors[i] = cursor(tokens.get(i));
+                if (cursors[i].postings == 0){
+                    return new long[0];
+                }
+            }
+            // La palabra con menos documentos marca el ritmo: las demas saltan directamente a sus candidatos
+            Arrays.sort(cursors, Comparator.comparingLong(cursor -> cursor.postings));
+            long[] result = new long[limit];
+            int count = 0;
+            int target = 0;
+            while (count < limit){
+                int candidate = cursors[0].advance(target);
+                int next = candidate;
+                for (int i = 1; i < cursors.length && next == candidate; i++){
+                    next = cursors[i].advance(candidate);
+                }
+                if (next == Integer.MAX_VALUE){
+                    break;
+                }
+                if (next == candidate){
+                    if (!deleted.get(candidate)){
+                        result[count++] = productIds[candidate];
+                    }
+                    target = candidate + 1;
+                } else {
+                    target = next;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //minusculas, sin tildes ni diacriticos ("Portátil" -> "portatil") y separado por lo que no sea letra o digito
+    public static List<String> tokenize(String text){
+        if (text == null){
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)){
+            if (!token.isEmpty() && !tokens.contains(token)){
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Listas del termino exacto y de los terminos que empiezan por el (como mucho maxPrefixTerms)
+    private Cursor cursor(String token){
+        NavigableMap<String, IntList> range = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        List<IntList> lists = new ArrayList<>();
+        for (Iterator<IntList> it = range.values().iterator(); it.hasNext() && lists.size() < maxPrefixTerms; ){
+            lists.add(it.next());
+        }
+        Cursor cursor = new Cursor(lists.toArray(new IntList[0]));
+        if (lists.size() > 1 && cursor.postings <= MERGE_MAX_POSTINGS){
+            // Muchos terminos poco frecuentes: sale mas barato unirlos una vez que recorrerlos todos en cada salto
+            IntList merged = new IntList();
+            merged.values = new int[(int) cursor.postings];
+            for (IntList list : lists){
+                System.arraycopy(list.values, 0, merged.values, merged.size, list.size);
+                merged.size += list.size;
+            }
+            Arrays.sort(merged.values);
+            return new Cursor(new IntList[]{merged});
+        }
+        return cursor;
+    }
+
+    private void add(long productId, String name){
+        List<String> tokens = tokenize(name);
+        if (tokens.isEmpty()){
+            return;
+        }
+        int document = documents++;
+        if (document == productIds.length){
+            productIds = Arrays.copyOf(productIds, productIds.length * 2);
+        }
+        productIds[document] = productId;
+        documentByProductId.put(productId, document);
+        for (String token : tokens){
+            postings.computeIfAbsent(token, t -> new IntList()).add(document);
+        }
+    }
+
+    private void delete(long productId){
+        Integer document = documentByProductId.remove(productId);
+        if (document != null){
+            deleted.set(document);
+            deletedDocuments++;
+        }
+    }
+
+    // Cuando la mitad de los documentos estan borrados se reescriben las listas sin ellos
+    private void compactIfNeeded(){
+        if (deletedDocuments < 1024 || deletedDocuments < documents - deletedDocuments){
+            return;
+        }
+        int[] remap = new int[documents];
+        int live = 0;
+        for (int document = 0; document < documents; document++){
+            if (deleted.get(document)){
+                remap[document] = -1;
+            } else {
+                remap[document] = live;
+                productIds[live] = productIds[document];
+                documentByProductId.put(productIds[live], live);
+                live++;
+            }
+        }
+        for (Iterator<IntList> it = postings.values().iterator(); it.hasNext(); ){
+            IntList list = it.next();
+            int size = 0;
+            for (int i = 0; i < list.size; i++){
+                int document = remap[list.values[i]];
+                if (document >= 0){
+                    list.values[size++] = document;
+                }
+            }
+            list.size = size;
+            if (size == 0){
+                it.remove();
+            }
+        }
+        documents = live;
+        deletedDocuments = 0;
+        deleted.clear();
+    }
+
+    //recorre en orden la union de varias listas de documentos, saltando hacia delante con busqueda exponencial
+    private static final class Cursor {
+        private final IntList[] lists;
+        private final int[] positions;
+        private final long postings;
+
+        private Cursor(IntList[] lists){
+            this.lists = lists;
+            this.positions = new int[lists.length];
+            long total = 0;
+            for (IntList list : lists){
+                total += list.size;
+            }
+            this.postings = total;
+        }
+
+        //primer documento >= target de cualquiera de las listas, o Integer.MAX_VALUE si no quedan
+        private int advance(int target){
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++){
+                IntList list = lists[i];
+                int position = positions[i];
+                if (position < list.size && list.values[position] < target){
+                    position = seek(list, position, target);
+                    positions[i] = position;
+                }
+                if (position < list.size && list.values[position] < min){
+                    min = list.values[position];
+                }
+            }
+            return min;
+        }
+
+        private static int seek(IntList list, int from, int target){
+            int step = 1;
+            int high = from + 1;
+            while (high < list.size && list.values[high] < target){
+                from = high;
+                step <<= 1;
+                high = from + step;
+            }
+            int index = Arrays.binarySearch(list.values, from + 1, Math.min(high, list.size), target);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    //lista de enteros sin boxing que crece por el final
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value){
+            if (size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.persistence;
+
+import com.project.models.Maker;
+import com.project.models.Product;
+import com.project.models.projection.MakerSummary;
+import com.project.persistence.impl.MakerDAOImpl;
+import com.project.repository.MakerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.hbm2ddl.import_files="
+})
+class MakerDAOImplTests {
+
+    private static final int MAKERS = 20;
+    private static final int PRODUCTS_PER_MAKER = 3;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Maker.class)
+    @EnableJpaRepositories(basePackageClasses = MakerRepository.class)
+    @Import(MakerDAOImpl.class)
+    static class Config {
+    }
+
+    @Autowired
+    private IMakerDAO makerDAO;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MAKERS; i++) {
+            Maker maker = entityManager.persist(Maker.builder().name("Maker " + i).build());
+            for (int j = 0; j < PRODUCTS_PER_MAKER; j++) {
+                entityManager.persist(Product.builder().name("Producto " + i + "-" + j).price(BigDecimal.TEN).maker(maker).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void makerSliceWithProductsCostsConstantStatements() {
+        List<Maker> makers = makerDAO.findSlice(0L, 10);
+        int products = makers.stream().mapToInt(maker -> maker.getProductList().size()).sum();
+
+        assertEquals(10, makers.size());
+        assertEquals(10 * PRODUCTS_PER_MAKER, products);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void makerSummaryIsSingleAggregateStatement() {
+        List<MakerSummary> summaries = makerDAO.findSummarySlice(0L, MAKERS);
+
+        assertEquals(MAKERS, summaries.size());
+        summaries.forEach(summary -> assertEquals(PRODUCTS_PER_MAKER, summary.productCount()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.persistence;
+
+import com.project.models.Maker;
+import com.project.models.Product;
+import com.project.persistence.impl.ProductDAOImpl;
+import com.project.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.import_files=")
+class ProductDAOImplTests {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    @Import(ProductDAOImpl.class)
+    static class Config {
+    }
+
+    @Autowired
+    private IProductDAO productDAO;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long hpId;
+    private Long dellId;
+
+    @BeforeEach
+    void setUp() {
+        hpId = entityManager.persistAndGetId(Maker.builder().name("HP").build(), Long.class);
+        dellId = entityManager.persistAndGetId(Maker.builder().name("Dell").build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // El controlador recibe {"maker":{"id":1}}: un Maker sin version que no debe tratarse como nuevo
+    @Test
+    void saveNewProductWithMakerSentOnlyById() {
+        Product product = Product.builder().name("Portatil").price(BigDecimal.TEN).maker(Maker.builder().id(hpId).build()).build();
+
+        productDAO.save(product);
+        entityManager.flush();
+        entityManager.clear();
+
+        Product saved = entityManager.find(Product.class, product.getId());
+        assertEquals(hpId, saved.getMaker().getId());
+        assertEquals("HP", saved.getMaker().getName());
+    }
+
+    @Test
+    void updateProductWithMakerSentOnlyById() {
+        Long productId = entityManager.persistAndGetId(Product.builder().name("Portatil").price(BigDecimal.TEN)
+                .maker(entityManager.find(Maker.class, hpId)).build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        Product product = productDAO.findById(productId).orElseThrow();
+        product.setMaker(Maker.builder().id(dellId).build());
+        productDAO.save(product);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(dellId, entityManager.find(Product.class, productId).getMaker().getId());
+    }
+
+    @Test
+    void updateAllEvictsCachedProductOnlyAfterCommit() {
+        Long productId = entityManager.persistAndGetId(Product.builder().name("Portatil").price(BigDecimal.TEN)
+                .maker(entityManager.find(Maker.class, hpId)).build(), Long.class);
+        // Confirmado y leido en otra transaccion: asi queda en la cache de segundo nivel
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+        entityManager.find(Product.class, productId);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsEntity(Product.class, productId));
+
+        productDAO.updateAll(List.of(Product.builder().id(productId).name("Portatil 2").price(BigDecimal.ONE)
+                .maker(Maker.builder().id(hpId).build()).build()));
+
+        // Antes del commit otra lectura volveria a cachear la fila anterior: la eviccion espera al commit
+        assertTrue(cache.containsEntity(Product.class, productId));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertFalse(cache.containsEntity(Product.class, productId));
+
+        // Los datos confirmados no deben quedar para los demas tests
+        TestTransaction.start();
+        entityManager.getEntityManager().createQuery("DELETE FROM Product").executeUpdate();
+        entityManager.getEntityManager().createQuery("DELETE FROM Maker").executeUpdate();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+}
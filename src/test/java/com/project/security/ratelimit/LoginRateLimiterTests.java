@@ -0,0 +1,46 @@
+package com.project.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "ipCapacity", 3);
+        ReflectionTestUtils.setField(limiter, "ipRefillPeriod", 60_000L);
+        ReflectionTestUtils.setField(limiter, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(limiter, "usernameRefillPeriod", 60_000L);
+        ReflectionTestUtils.setField(limiter, "maxEntries", 1000L);
+        limiter.init();
+    }
+
+    @Test
+    void limitsEachIpIndependently() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquireForIp("10.0.0.1"));
+        }
+        long retryAfter = limiter.tryAcquireForIp("10.0.0.1");
+
+        // 3 intentos por minuto: el siguiente llega en 20 s
+        assertTrue(retryAfter >= 1 && retryAfter <= 20, "retryAfter=" + retryAfter);
+        assertEquals(0, limiter.tryAcquireForIp("10.0.0.2"));
+    }
+
+    @Test
+    void usernameLimitIsSeparateFromIpLimit() {
+        assertEquals(0, limiter.tryAcquireForUsername("admin"));
+        assertEquals(0, limiter.tryAcquireForUsername("admin"));
+
+        assertTrue(limiter.tryAcquireForUsername("admin") >= 1);
+        assertEquals(0, limiter.tryAcquireForUsername("user"));
+        assertEquals(0, limiter.tryAcquireForIp("10.0.0.1"));
+    }
+}
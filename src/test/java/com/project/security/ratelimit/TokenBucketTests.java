@@ -0,0 +1,85 @@
+package com.project.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+    @Test
+    void allowsBurstUpToCapacityThenAsksToWait() {
+        TokenBucket bucket = new TokenBucket(5, TimeUnit.SECONDS.toNanos(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume());
+        }
+        long wait = bucket.tryConsume();
+
+        // Un token cada segundo: como mucho un intervalo de espera
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "wait=" + wait);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(2, TimeUnit.MILLISECONDS.toNanos(200));
+        bucket.tryConsume();
+        bucket.tryConsume();
+        long wait = bucket.tryConsume();
+        assertTrue(wait > 0);
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(0, bucket.tryConsume());
+        assertTrue(bucket.tryConsume() > 0);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, TimeUnit.MILLISECONDS.toNanos(100));
+        bucket.tryConsume();
+        long wait = 0;
+        for (int i = 0; i < 100; i++) {
+            wait = bucket.tryConsume();
+            assertTrue(wait > 0);
+        }
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(0, bucket.tryConsume());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, TimeUnit.HOURS.toNanos(1));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryConsume() == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, granted.get());
+    }
+}
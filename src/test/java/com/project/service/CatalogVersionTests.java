@@ -0,0 +1,80 @@
+package com.project.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogVersionTests {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Test
+    void tagsAreStableUntilSomethingChanges() {
+        assertEquals(catalogVersion.productTag(1), catalogVersion.productTag(1));
+        assertEquals(catalogVersion.makerSliceTag("ms", 0, 50), catalogVersion.makerSliceTag("ms", 0, 50));
+        assertNotEquals(catalogVersion.productTag(1), catalogVersion.productTag(2));
+        assertTrue(catalogVersion.productTag(1).startsWith("\"") && catalogVersion.productTag(1).endsWith("\""));
+    }
+
+    @Test
+    void productChangeAffectsThatProductItsMakerAndTheLists() {
+        String product1 = catalogVersion.productTag(1);
+        String product2 = catalogVersion.productTag(2);
+        String maker1 = catalogVersion.makerTag(1);
+        String maker2 = catalogVersion.makerTag(2);
+        String productSlice = catalogVersion.productSliceTag(0, 50);
+        String makerSlice = catalogVersion.makerSliceTag("ms", 0, 50);
+
+        catalogVersion.productChanged(1L, 1L);
+
+        assertNotEquals(product1, catalogVersion.productTag(1));
+        assertEquals(product2, catalogVersion.productTag(2));
+        assertNotEquals(maker1, catalogVersion.makerTag(1));
+        assertEquals(maker2, catalogVersion.makerTag(2));
+        assertNotEquals(productSlice, catalogVersion.productSliceTag(0, 50));
+        assertNotEquals(makerSlice, catalogVersion.makerSliceTag("ms", 0, 50));
+    }
+
+    @Test
+    void unknownMakerInvalidatesEveryMaker() {
+        String maker2 = catalogVersion.makerTag(2);
+
+        catalogVersion.productChanged(1L, null);
+
+        assertNotEquals(maker2, catalogVersion.makerTag(2));
+    }
+
+    @Test
+    void makerChangeInvalidatesEveryProduct() {
+        String product1 = catalogVersion.productTag(1);
+        String maker2 = catalogVersion.makerTag(2);
+
+        catalogVersion.makersChanged(List.of(1L));
+
+        assertNotEquals(product1, catalogVersion.productTag(1));
+        assertEquals(maker2, catalogVersion.makerTag(2));
+    }
+
+    @Test
+    void listenersRunBeforeTheNewVersionIsPublished() {
+        List<String> seenByProductListener = new ArrayList<>();
+        List<String> seenByMakerListener = new ArrayList<>();
+        catalogVersion.onProductChange(() -> seenByProductListener.add(catalogVersion.productTag(1)));
+        catalogVersion.onMakerChange(() -> seenByMakerListener.add(catalogVersion.makerTag(1)));
+
+        // Mientras se descartan las lecturas compartidas, los clientes siguen viendo el ETag anterior
+        String product1 = catalogVersion.productTag(1);
+        catalogVersion.productChanged(1L, 1L);
+        assertEquals(List.of(product1), seenByProductListener);
+
+        String maker1 = catalogVersion.makerTag(1);
+        catalogVersion.makerChanged(1L);
+        assertEquals(List.of(maker1), seenByMakerListener);
+        assertNotEquals(maker1, catalogVersion.makerTag(1));
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.service.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvProductImportReaderTests {
+
+    @Test
+    void readsRowsSkippingHeaderAndBlankLines() {
+        List<ProductImportRow> rows = read("name,price,makerId\nPortatil,799.99,1\n\nRaton, 12.5 , 2\n", StandardCharsets.UTF_8);
+
+        assertEquals(List.of(
+                new ProductImportRow(2, "Portatil", new BigDecimal("799.99"), 1L, null),
+                new ProductImportRow(4, "Raton", new BigDecimal("12.5"), 2L, null)), rows);
+    }
+
+    @Test
+    void headerIsOptional() {
+        List<ProductImportRow> rows = read("Portatil,10,1", StandardCharsets.UTF_8);
+
+        assertEquals(1, rows.size());
+        assertEquals(1, rows.get(0).row());
+        assertNull(rows.get(0).error());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() {
+        List<ProductImportRow> rows = read("\"Monitor 27\"\", 4K, IPS\",\"299.00\",3\n\"\",1,1", StandardCharsets.UTF_8);
+
+        assertEquals("Monitor 27\", 4K, IPS", rows.get(0).name());
+        assertEquals(new BigDecimal("299.00"), rows.get(0).price());
+        assertEquals("", rows.get(1).name());
+    }
+
+    @Test
+    void decodesWithTheRequestCharset() {
+        Charset latin1 = StandardCharsets.ISO_8859_1;
+
+        List<ProductImportRow> rows = read("Cañón proyector,450,4", latin1);
+
+        assertEquals("Cañón proyector", rows.get(0).name());
+    }
+
+    @Test
+    void invalidLinesBecomeErrorRowsWithTheirLineNumber() {
+        List<ProductImportRow> rows = read(String.join("\n",
+                "name,price,makerId",
+                "\"Sin cerrar,1,1",
+                "Solo dos,1",
+                "Precio,abc,1",
+                "Maker,1,uno",
+                "Bien,1,1"), StandardCharsets.UTF_8);
+
+        assertEquals(5, rows.size());
+        assertError(rows.get(0), 2, "Comillas sin cerrar");
+        assertError(rows.get(1), 3, "Se esperaban 3 columnas: name,price,makerId");
+        assertError(rows.get(2), 4, "'price' no es un numero");
+        assertError(rows.get(3), 5, "'makerId' no es un numero");
+        assertEquals(6, rows.get(4).row());
+        assertNull(rows.get(4).error());
+    }
+
+    @Test
+    void emptyInputHasNoRows() {
+        CsvProductImportReader reader = reader("", StandardCharsets.UTF_8);
+
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    private static void assertError(ProductImportRow row, long line, String error) {
+        assertEquals(line, row.row());
+        assertEquals(error, row.error());
+        assertNull(row.name());
+    }
+
+    private static List<ProductImportRow> read(String csv, Charset charset) {
+        List<ProductImportRow> rows = new ArrayList<>();
+        reader(csv, charset).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static CsvProductImportReader reader(String csv, Charset charset) {
+        return new CsvProductImportReader(new ByteArrayInputStream(csv.getBytes(charset)), charset);
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonProductImportReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsEachObjectAsARow() throws IOException {
+        List<ProductImportRow> rows = read("[{\"name\":\"Portátil\",\"price\":799.99,\"makerId\":1},"
+                + "{\"name\":\"Ratón\",\"price\":\"12.50\",\"makerId\":2,\"extra\":true}]");
+
+        assertEquals(List.of(
+                new ProductImportRow(1, "Portátil", new BigDecimal("799.99"), 1L, null),
+                new ProductImportRow(2, "Ratón", new BigDecimal("12.50"), 2L, null)), rows);
+    }
+
+    @Test
+    void emptyArrayHasNoRows() throws IOException {
+        assertTrue(read("[]").isEmpty());
+    }
+
+    @Test
+    void invalidElementsBecomeErrorRowsAndReadingContinues() throws IOException {
+        List<ProductImportRow> rows = read("[{\"price\":1,\"makerId\":1},"
+                + "{\"name\":\"A\",\"makerId\":1},"
+                + "{\"name\":\"B\",\"price\":\"abc\",\"makerId\":1},"
+                + "{\"name\":\"C\",\"price\":1},"
+                + "[1,2],"
+                + "{\"name\":\"D\",\"price\":1,\"makerId\":1}]");
+
+        assertEquals(6, rows.size());
+        assertError(rows.get(0), 1, "'name' es obligatorio");
+        assertError(rows.get(1), 2, "'price' es obligatorio");
+        assertError(rows.get(2), 3, "'price' no es un numero");
+        assertError(rows.get(3), 4, "'makerId' es obligatorio");
+        assertError(rows.get(4), 5, "Se esperaba un objeto JSON");
+        assertEquals("D", rows.get(5).name());
+        assertEquals(6, rows.get(5).row());
+    }
+
+    @Test
+    void malformedJsonEndsWithAnErrorRow() throws IOException {
+        List<ProductImportRow> rows = read("[{\"name\":\"A\",\"price\":1,\"makerId\":1},{\"name\":");
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).error());
+        assertEquals(2, rows.get(1).row());
+        assertTrue(rows.get(1).error().startsWith("JSON mal formado"), rows.get(1).error());
+    }
+
+    @Test
+    void bodyMustBeAnArray() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"name\":\"A\"}"));
+        assertThrows(IllegalArgumentException.class, () -> read("no es json"));
+    }
+
+    private static void assertError(ProductImportRow row, long number, String error) {
+        assertEquals(number, row.row());
+        assertEquals(error, row.error());
+    }
+
+    private List<ProductImportRow> read(String json) throws IOException {
+        List<ProductImportRow> rows = new ArrayList<>();
+        new JsonProductImportReader(objectMapper, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(rows::add);
+        return rows;
+    }
+}
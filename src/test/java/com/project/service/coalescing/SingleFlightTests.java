@@ -0,0 +1,173 @@
+package com.project.service.coalescing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    private static final int CALLERS = 32;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        // Ventana larga: un hilo que llegue tarde reutiliza el resultado en vez de lanzar otra consulta
+        SingleFlight<Long, Object> flight = new SingleFlight<>(10_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = new Object();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.load(1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return value;
+            })));
+        }
+        // Se espera a que todos los hilos esten dentro de load antes de dejar terminar la consulta
+        TimeUnit.MILLISECONDS.sleep(200);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertSame(value, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void resultIsReusedDuringHoldWindowOnly() throws InterruptedException {
+        SingleFlight<Long, Integer> flight = new SingleFlight<>(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.load(1L, loads::incrementAndGet);
+        flight.load(1L, loads::incrementAndGet);
+        assertEquals(1, loads.get());
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        flight.load(1L, loads::incrementAndGet);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void withoutHoldWindowSequentialCallsLoadAgain() {
+        SingleFlight<Long, Integer> flight = new SingleFlight<>(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.load(1L, loads::incrementAndGet);
+        flight.load(1L, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateDetachesLaterCallersFromAnInFlightLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = executor.submit(() -> flight.load(1L, () -> {
+            started.countDown();
+            await(release);
+            return "antes";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        flight.invalidate(1L);
+        String fresh = flight.load(1L, () -> "despues");
+        release.countDown();
+
+        assertEquals("despues", fresh);
+        assertEquals("antes", stale.get(5, TimeUnit.SECONDS));
+        // La lectura antigua, al terminar, no sustituye a la nueva retenida
+        assertEquals("despues", flight.load(1L, () -> "otra"));
+    }
+
+    @Test
+    void invalidateAllDropsHeldResults() {
+        SingleFlight<Long, String> flight = new SingleFlight<>(10_000);
+        flight.load(1L, () -> "a");
+        flight.load(2L, () -> "b");
+
+        flight.invalidateAll();
+
+        assertEquals("a2", flight.load(1L, () -> "a2"));
+        assertEquals("b2", flight.load(2L, () -> "b2"));
+    }
+
+    @Test
+    void failuresReachWaitersButAreNotHeld() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> flight.load(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("base de datos caida");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> waiter = executor.submit(() -> flight.load(1L, () -> "no deberia cargar"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, firstError.getCause());
+        ExecutionException waiterError = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, waiterError.getCause());
+        assertEquals("ok", flight.load(1L, () -> "ok"));
+    }
+
+    @Test
+    void errorsAlsoReleaseWaiters() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> flight.load(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new AssertionError("fallo no recuperable");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> waiter = executor.submit(() -> flight.load(1L, () -> "no deberia cargar"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, firstError.getCause());
+        // Sin completar el futuro, el hilo en espera no terminaria nunca
+        ExecutionException waiterError = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, waiterError.getCause());
+        assertEquals("ok", flight.load(1L, () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
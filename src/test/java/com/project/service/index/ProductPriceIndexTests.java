@@ -0,0 +1,102 @@
+package com.project.service.index;
+
+import com.project.models.projection.ProductPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductPriceIndexTests {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(() -> List.of(
+                price(1, "10.00"),
+                price(2, "5.50"),
+                price(3, "20.00"),
+                price(4, "10.00"),
+                price(5, null)));
+    }
+
+    @Test
+    void rangeIsInclusiveAndOrderedByPriceThenId() {
+        assertTrue(index.isReady());
+        assertEquals(4, index.size());
+        assertArrayEquals(new long[]{2, 1, 4}, index.findIdsInRange(new BigDecimal("5.50"), new BigDecimal("10")));
+        assertArrayEquals(new long[]{3, 4}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100"), true, 2));
+        assertArrayEquals(new long[0], index.findIdsInRange(new BigDecimal("10.01"), new BigDecimal("19.99")));
+    }
+
+    @Test
+    void upsertMovesAndRemoveDeletesEntries() {
+        index.upsert(1, new BigDecimal("30"));
+        index.upsert(6, new BigDecimal("1"));
+        index.remove(2);
+        index.remove(99);
+
+        assertArrayEquals(new long[]{6, 4, 3, 1}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100")));
+
+        // Sin precio el producto sale del indice
+        index.upsert(3, null);
+        assertArrayEquals(new long[]{6, 4, 1}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100")));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void countsPricesPerBucketWithMaxInLastBucket() {
+        long[] counts = index.countByBucket(BigDecimal.ZERO, new BigDecimal("20"), new BigDecimal("10"), 2);
+
+        assertArrayEquals(new long[]{1, 3}, counts);
+    }
+
+    @Test
+    void writesDuringRebuildAreNotLost() {
+        index.rebuild(() -> {
+            // Llegan mientras el rebuild lee de la base de datos: la lista leida ya no las incluye
+            index.upsert(7, new BigDecimal("7"));
+            index.remove(1);
+            return List.of(price(1, "10.00"), price(3, "20.00"));
+        });
+
+        assertArrayEquals(new long[]{7, 3}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100")));
+
+        index.upsert(8, new BigDecimal("8"));
+        assertArrayEquals(new long[]{7, 8, 3}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100")));
+    }
+
+    @Test
+    void pricesBeyondLongCentsSaturateInsteadOfThrowing() {
+        // Filas antiguas guardadas antes del limite de precio: el rebuild no puede fallar
+        index.rebuild(() -> List.of(price(1, "10.00"), price(2, "1E30")));
+        index.upsert(3, new BigDecimal("1E20"));
+
+        assertArrayEquals(new long[]{1, 2, 3}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("1E40")));
+        assertArrayEquals(new long[]{1}, index.findIdsInRange(BigDecimal.ZERO, new BigDecimal("100")));
+        assertArrayEquals(new long[]{0, 1}, index.countByBucket(BigDecimal.ZERO, new BigDecimal("20"), new BigDecimal("10"), 2));
+    }
+
+    @Test
+    void disabledIndexIgnoresWritesAndIsNeverReady() {
+        ProductPriceIndex disabled = new ProductPriceIndex();
+        disabled.rebuild(() -> List.of(price(1, "1")));
+        disabled.upsert(2, BigDecimal.ONE);
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+
+    private static ProductPrice price(long id, String price) {
+        return new ProductPrice(id, price == null ? null : new BigDecimal(price));
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.service.index;
+
+import com.project.models.projection.ProductName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex(64);
+        index.rebuild(() -> List.of(
+                new ProductName(1000L, "Portátil Lenovo 15\""),
+                new ProductName(1001L, "Impresora láser HP"),
+                new ProductName(1002L, "Portátil HP"),
+                new ProductName(1003L, "Cañón proyector")));
+    }
+
+    @Test
+    void tokenizeFoldsAccentsAndCase() {
+        assertEquals(List.of("portatil", "lenovo", "15"), ProductSearchIndex.tokenize("Portátil  LENOVO-15\""));
+        assertEquals(List.of("canon", "pequeno"), ProductSearchIndex.tokenize("Cañón pequeño cañón"));
+        assertEquals(List.of(), ProductSearchIndex.tokenize(" ,;- "));
+    }
+
+    @Test
+    void matchesAccentFoldedWordsAndPrefixes() {
+        assertArrayEquals(new long[]{1000, 1002}, index.search("portatil", 10));
+        assertArrayEquals(new long[]{1000, 1002}, index.search("PORTÁTIL", 10));
+        assertArrayEquals(new long[]{1000, 1002}, index.search("port", 10));
+        assertArrayEquals(new long[]{1003}, index.search("canon", 10));
+        assertArrayEquals(new long[]{1001}, index.search("impre", 10));
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertArrayEquals(new long[]{1002}, index.search("port hp", 10));
+        assertArrayEquals(new long[]{1001}, index.search("laser h", 10));
+        assertArrayEquals(new long[0], index.search("portatil canon", 10));
+        assertArrayEquals(new long[0], index.search("tablet", 10));
+        assertArrayEquals(new long[0], index.search("  ", 10));
+    }
+
+    @Test
+    void limitKeepsTheFirstMatches() {
+        assertArrayEquals(new long[]{1000}, index.search("p", 1));
+    }
+
+    @Test
+    void upsertRenamesAndRemoveDeletes() {
+        index.upsert(1002L, "Monitor HP");
+        index.remove(1001L);
+        index.upsert(1004L, "Portátil Dell");
+
+        assertArrayEquals(new long[]{1000, 1004}, index.search("portatil", 10));
+        assertArrayEquals(new long[]{1002}, index.search("hp", 10));
+        assertArrayEquals(new long[0], index.search("impresora", 10));
+    }
+
+    @Test
+    void compactionKeepsLiveDocuments() {
+        for (int i = 0; i < 5000; i++) {
+            index.upsert(10_000L + i, "Ratón " + i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            index.remove(10_000L + i);
+        }
+        index.upsert(1L, "Ratón inalámbrico");
+
+        assertArrayEquals(new long[]{1000, 1002}, index.search("portatil", 10));
+        assertArrayEquals(new long[]{1L}, index.search("raton", 10));
+        assertArrayEquals(new long[0], index.search("4999", 10));
+    }
+
+    @Test
+    void prefixExpansionIsCapped() {
+        ProductSearchIndex capped = newIndex(2);
+        capped.rebuild(() -> List.of(
+                new ProductName(1L, "modelo1"),
+                new ProductName(2L, "modelo2"),
+                new ProductName(3L, "modelo3")));
+
+        // Solo los dos primeros terminos en orden alfabetico
+        assertArrayEquals(new long[]{1, 2}, capped.search("modelo", 10));
+        assertArrayEquals(new long[]{3}, capped.search("modelo3", 10));
+    }
+
+    @Test
+    void writesDuringRebuildAreNotLost() {
+        index.rebuild(() -> {
+            index.upsert(2000L, "Teclado");
+            index.remove(1000L);
+            return List.of(new ProductName(1000L, "Portátil Lenovo"), new ProductName(1002L, "Portátil HP"));
+        });
+
+        assertArrayEquals(new long[]{1002}, index.search("portatil", 10));
+        assertArrayEquals(new long[]{2000}, index.search("teclado", 10));
+    }
+
+    private static ProductSearchIndex newIndex(int maxPrefixTerms) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxPrefixTerms", maxPrefixTerms);
+        return index;
+    }
+}